@@ -0,0 +1,57 @@
+package benchmark;
+
+import algorithm.*;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+// Distance-matrix-like inputs where E approaches V^2 / 2
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class DenseGraphBenchmark {
+    @Param({"250", "1000", "2000"})
+    public int vertices;
+
+    @Param({"0.25", "0.5", "1.0"})
+    public double density;
+
+    @Param({"UNIFORM", "SMALL_RANGE"})
+    public String weights;
+
+    @Param({"PRIM_LAZY", "PRIM_EAGER", "PRIM_DENSE", "KRUSKAL", "KRUSKAL_FILTER", "BORUVKA"})
+    public String engine;
+
+    @Param("42")
+    public long seed;
+
+    private CompactGraph graph;
+    private MatrixGraph matrix;
+    private MSTAlgorithm solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long edges = (long) (density * vertices * (vertices - 1) / 2);
+        graph = density >= 1.0
+                ? GraphGenerator.complete(0, vertices, WeightDistribution.valueOf(weights), seed)
+                : GraphGenerator.erdosRenyi(0, vertices, edges, WeightDistribution.valueOf(weights), seed);
+        graph.getOffsets();
+        matrix = MatrixGraph.fromCompact(graph);
+        solver = Engine.valueOf(engine).create();
+    }
+
+    @Benchmark
+    public MSTResult findMST() {
+        // The matrix is prebuilt, as it would be for adjacency-matrix input
+        if (solver instanceof PrimAlgorithm
+                && ((PrimAlgorithm) solver).getMode() == PrimAlgorithm.Mode.DENSE) {
+            return ((PrimAlgorithm) solver).findMST(matrix);
+        }
+        return solver.findMST(graph);
+    }
+}
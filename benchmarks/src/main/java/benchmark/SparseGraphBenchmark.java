@@ -0,0 +1,60 @@
+package benchmark;
+
+import algorithm.Engine;
+import algorithm.MSTAlgorithm;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+// Sparse inputs of several shapes, average degree far below V (GRID ignores
+// averageDegree). The O(V^2) dense Prim is left out, its matrix would not fit
+// at these sizes. The defaults are a representative slice (24 runs, about
+// ten minutes); the README lists -p options for the other shapes, sizes and
+// weights.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SparseGraphBenchmark {
+    // Also GRID, POWER_LAW
+    @Param({"ERDOS_RENYI", "GEOMETRIC"})
+    public String model;
+
+    // Also 1000, 10000
+    @Param("100000")
+    public int vertices;
+
+    // Also 64
+    @Param({"4", "16"})
+    public int averageDegree;
+
+    // Also SMALL_RANGE (the radix sort path), EXPONENTIAL
+    @Param("DISTANCE")
+    public String weights;
+
+    @Param({"PRIM_LAZY", "PRIM_EAGER", "KRUSKAL", "KRUSKAL_PARALLEL_SORT", "KRUSKAL_FILTER", "BORUVKA"})
+    public String engine;
+
+    @Param("42")
+    public long seed;
+
+    private CompactGraph graph;
+    private MSTAlgorithm solver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.Model.valueOf(model).generate(0, vertices, averageDegree,
+                WeightDistribution.valueOf(weights), seed);
+        graph.getOffsets(); // build the CSR adjacency outside the measurement
+        solver = Engine.valueOf(engine).create();
+    }
+
+    @Benchmark
+    public MSTResult findMST() {
+        return solver.findMST(graph);
+    }
+}
@@ -0,0 +1,42 @@
+package algorithm;
+
+import analysis.GraphStatistics;
+import analysis.Metrics;
+import model.*;
+import java.util.*;
+
+// Runs one engine per graph instead of all of them: the graph's statistics go
+// through a SolverProfile and the chosen engine is recorded in the result.
+public class AdaptiveSolver implements MSTAlgorithm {
+    private final SolverProfile profile;
+    private final Map<Engine, MSTAlgorithm> engines = new EnumMap<>(Engine.class);
+
+    public AdaptiveSolver() {
+        this(SolverProfile.defaults());
+    }
+
+    public AdaptiveSolver(SolverProfile profile) {
+        this.profile = profile;
+        for (Engine engine : Engine.values()) {
+            engines.put(engine, engine.create());
+        }
+    }
+
+    public SolverProfile getProfile() { return profile; }
+
+    public Engine choose(CompactGraph graph) {
+        return profile.choose(GraphStatistics.of(graph));
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
+        long phase = metrics.phaseStart();
+        Engine engine = choose(graph);
+        metrics.phaseEnd("select", phase);
+
+        MSTResult result = engines.get(engine).findMST(graph, metrics);
+        return new MSTResult(result.getTree(), result.getTotalCost(), metrics,
+                (System.nanoTime() - startTime) / 1_000_000.0, result.getComponents(), engine.name());
+    }
+}
@@ -0,0 +1,111 @@
+package algorithm;
+
+import analysis.DetailedMetrics;
+import analysis.Metrics;
+import model.*;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+// Solves independent graphs concurrently on an executor. Graphs are pulled
+// from the iterator on the calling thread and handed to the handler in input
+// order, with at most a bounded number of graphs in flight at once.
+public class BatchSolver {
+    public interface ResultHandler {
+        void accept(Graph graph, Map<String, MSTResult> results) throws IOException;
+    }
+
+    private final ExecutorService executor;
+    private final Map<String, MSTAlgorithm> algorithms;
+    private final int maxInFlight;
+    private final Supplier<Metrics> metrics;
+
+    // algorithms maps an output key to a shared, thread-safe algorithm instance
+    public BatchSolver(ExecutorService executor, Map<String, MSTAlgorithm> algorithms, int maxInFlight) {
+        this(executor, algorithms, maxInFlight, DetailedMetrics::new);
+    }
+
+    // metrics is asked for a fresh instance per algorithm run; pass
+    // () -> Metrics.NONE to skip instrumentation
+    public BatchSolver(ExecutorService executor, Map<String, MSTAlgorithm> algorithms, int maxInFlight,
+                       Supplier<Metrics> metrics) {
+        this.executor = executor;
+        this.algorithms = new LinkedHashMap<>(algorithms);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.metrics = metrics;
+    }
+
+    public static ExecutorService platformThreads(int threads) {
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mst-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() exists from Java 21 on; the
+    // project targets 17, so it is looked up reflectively
+    public static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21 or newer (running "
+                    + System.getProperty("java.version") + ")");
+        }
+    }
+
+    public int solve(Iterator<Graph> graphs, ResultHandler handler) throws IOException {
+        Deque<Future<Map<String, MSTResult>>> pending = new ArrayDeque<>();
+        Deque<Graph> pendingGraphs = new ArrayDeque<>();
+        int solved = 0;
+
+        try {
+            while (graphs.hasNext()) {
+                if (pending.size() >= maxInFlight) {
+                    handler.accept(pendingGraphs.poll(), await(pending.poll()));
+                    solved++;
+                }
+                Graph graph = graphs.next();
+                pendingGraphs.add(graph);
+                pending.add(executor.submit(() -> solve(graph)));
+            }
+            while (!pending.isEmpty()) {
+                handler.accept(pendingGraphs.poll(), await(pending.poll()));
+                solved++;
+            }
+        } finally {
+            for (Future<?> future : pending) {
+                future.cancel(true);
+            }
+        }
+
+        return solved;
+    }
+
+    public Map<String, MSTResult> solve(Graph graph) {
+        Map<String, MSTResult> results = new LinkedHashMap<>();
+        for (Map.Entry<String, MSTAlgorithm> entry : algorithms.entrySet()) {
+            results.put(entry.getKey(), entry.getValue().findMST(graph, metrics.get()));
+        }
+        return results;
+    }
+
+    private static Map<String, MSTResult> await(Future<Map<String, MSTResult>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a graph to be solved");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+import structure.DisjointSet;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntPredicate;
+
+// Borůvka's algorithm: every round each component picks its cheapest outgoing
+// edge, the picks are contracted and edges inside a component are dropped.
+// The edge scans run in parallel on a ForkJoinPool.
+public class BoruvkaAlgorithm implements MSTAlgorithm {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    public BoruvkaAlgorithm() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaAlgorithm(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        int[] edgeFrom = graph.getEdgeFrom();
+        int[] edgeTo = graph.getEdgeTo();
+        int[] edgeWeight = graph.getEdgeWeight();
+
+        // Component representative of every vertex, refreshed after each round
+        int[] component = new int[n];
+        int[] roots = new int[n];
+        for (int v = 0; v < n; v++) {
+            component[v] = v;
+            roots[v] = v;
+        }
+        int rootCount = n;
+
+        int[] active = new int[graph.getEdgeCount()];
+        for (int e = 0; e < active.length; e++) {
+            active[e] = e;
+        }
+        active = filter(active, e -> edgeFrom[e] != edgeTo[e]);
+
+        // Cheapest outgoing edge per component as (weight << 32 | edge index);
+        // the unique index breaks ties, so the picks of one round never form a cycle
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        DisjointSet sets = new DisjointSet(n);
+        int[] label = new int[n];
+
+        TreeEdges mstEdges = new TreeEdges(graph.getNames(), Math.max(0, n - 1));
+        long totalCost = 0;
+
+        while (active.length > 0) {
+            for (int i = 0; i < rootCount; i++) {
+                cheapest.set(roots[i], NONE);
+            }
+
+            long phase = metrics.phaseStart();
+            int[] scan = active;
+            pool.invoke(new RangeTask(0, scan.length, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int e = scan[i];
+                    long key = ((long) edgeWeight[e] << 32) | e;
+                    offer(cheapest, component[edgeFrom[e]], key);
+                    offer(cheapest, component[edgeTo[e]], key);
+                }
+            }));
+            metrics.edgesScanned(scan.length);
+            metrics.phaseEnd("scan", phase);
+
+            phase = metrics.phaseStart();
+
+            for (int i = 0; i < rootCount; i++) {
+                long key = cheapest.get(roots[i]);
+                if (key == NONE) {
+                    continue;
+                }
+                int e = (int) key;
+                int rootFrom = sets.find(edgeFrom[e]);
+                int rootTo = sets.find(edgeTo[e]);
+                metrics.finds(2);
+                // Both endpoints may have picked the same edge
+                if (rootFrom != rootTo) {
+                    sets.linkRoots(rootFrom, rootTo);
+                    mstEdges.add(edgeFrom[e], edgeTo[e], edgeWeight[e]);
+                    totalCost += edgeWeight[e];
+                    metrics.union();
+                }
+            }
+
+            int newRootCount = 0;
+            for (int i = 0; i < rootCount; i++) {
+                int root = roots[i];
+                label[root] = sets.find(root);
+                if (label[root] == root) {
+                    roots[newRootCount++] = root;
+                }
+            }
+            rootCount = newRootCount;
+
+            pool.invoke(new RangeTask(0, n, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    component[v] = label[component[v]];
+                }
+            }));
+
+            active = filter(active, e -> component[edgeFrom[e]] != component[edgeTo[e]]);
+            metrics.phaseEnd("contract", phase);
+        }
+
+        long endTime = System.nanoTime();
+        double executionTime = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult(mstEdges, totalCost, metrics, executionTime);
+    }
+
+    private static void offer(AtomicLongArray cheapest, int component, long key) {
+        long current = cheapest.get(component);
+        while (key < current && !cheapest.compareAndSet(component, current, key)) {
+            current = cheapest.get(component);
+        }
+    }
+
+    // Parallel stable filter: each block compacts its survivors, then the
+    // blocks are concatenated
+    private int[] filter(int[] values, IntPredicate test) {
+        int length = values.length;
+        int blocks = Math.max(1, (length + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD);
+        int[] kept = new int[blocks];
+        int[] scratch = new int[length];
+        pool.invoke(new RangeTask(0, blocks, (lo, hi) -> {
+            for (int b = lo; b < hi; b++) {
+                int start = b * SEQUENTIAL_THRESHOLD;
+                int end = Math.min(length, start + SEQUENTIAL_THRESHOLD);
+                int out = start;
+                for (int i = start; i < end; i++) {
+                    if (test.test(values[i])) {
+                        scratch[out++] = values[i];
+                    }
+                }
+                kept[b] = out - start;
+            }
+        }, 1));
+
+        int total = 0;
+        for (int count : kept) {
+            total += count;
+        }
+        int[] result = new int[total];
+        int out = 0;
+        for (int b = 0; b < blocks; b++) {
+            System.arraycopy(scratch, b * SEQUENTIAL_THRESHOLD, result, out, kept[b]);
+            out += kept[b];
+        }
+        return result;
+    }
+
+    private interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final RangeBody body;
+        private final int grain;
+
+        RangeTask(int lo, int hi, RangeBody body) {
+            this(lo, hi, body, SEQUENTIAL_THRESHOLD);
+        }
+
+        RangeTask(int lo, int hi, RangeBody body, int grain) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= grain) {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(lo, mid, body, grain), new RangeTask(mid, hi, body, grain));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+import util.ResultCache;
+
+// Serves repeated graphs from a ResultCache instead of solving them again. A
+// hit returns the stored tree and metrics with the time the lookup took,
+// marked as cached; a miss runs the wrapped algorithm and stores its result.
+public class CachingAlgorithm implements MSTAlgorithm {
+    private final String name;
+    private final MSTAlgorithm algorithm;
+    private final ResultCache cache;
+
+    // name is the cache key for the wrapped algorithm and has to change
+    // whenever its configuration would change the tree
+    public CachingAlgorithm(String name, MSTAlgorithm algorithm, ResultCache cache) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.cache = cache;
+    }
+
+    public MSTAlgorithm getAlgorithm() { return algorithm; }
+    public ResultCache getCache() { return cache; }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
+        MSTResult cached = cache.get(name, graph);
+        if (cached != null) {
+            return cached.fromCache((System.nanoTime() - startTime) / 1_000_000.0);
+        }
+
+        MSTResult result = algorithm.findMST(graph, metrics);
+        cache.put(name, graph, result);
+        return result;
+    }
+}
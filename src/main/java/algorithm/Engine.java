@@ -0,0 +1,32 @@
+package algorithm;
+
+// Every MST implementation and mode, by name; the benchmarks are
+// parameterized over these and AdaptiveSolver picks one per graph
+public enum Engine {
+    PRIM_LAZY,
+    PRIM_EAGER,
+    PRIM_DENSE,
+    KRUSKAL,
+    KRUSKAL_PARALLEL_SORT,
+    KRUSKAL_FILTER,
+    BORUVKA;
+
+    public MSTAlgorithm create() {
+        switch (this) {
+            case PRIM_LAZY:
+                return new PrimAlgorithm(PrimAlgorithm.Mode.LAZY);
+            case PRIM_EAGER:
+                return new PrimAlgorithm(PrimAlgorithm.Mode.EAGER);
+            case PRIM_DENSE:
+                return new PrimAlgorithm(PrimAlgorithm.Mode.DENSE);
+            case KRUSKAL:
+                return new KruskalAlgorithm(KruskalAlgorithm.Mode.STANDARD);
+            case KRUSKAL_PARALLEL_SORT:
+                return new KruskalAlgorithm(KruskalAlgorithm.Mode.PARALLEL_SORT);
+            case KRUSKAL_FILTER:
+                return new KruskalAlgorithm(KruskalAlgorithm.Mode.FILTER);
+            default:
+                return new BoruvkaAlgorithm();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+import structure.DisjointSet;
+import util.MappedGraphFile;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Kruskal for graphs whose edges do not fit in memory. Edges are read from a
+// binary graph file one chunk at a time; each chunk is sorted and written to a
+// temporary run, and the runs are k-way merged straight into the union-find.
+// Besides one chunk during run generation, memory is O(V): the vertex names,
+// the union-find and the tree itself. Keys are (weight << 32 | edge index) as
+// in KruskalAlgorithm, so both produce the same tree.
+public class ExternalKruskal {
+    public static final int DEFAULT_CHUNK_EDGES = 1 << 22;
+    // More runs than this are first merged into longer runs in extra passes
+    private static final int MAX_FAN_IN = 64;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final int chunkEdges;
+    private final Path tempDir;
+
+    public ExternalKruskal() {
+        this(DEFAULT_CHUNK_EDGES, null);
+    }
+
+    // chunkEdges bounds the edges held in memory while runs are written (about
+    // 20 bytes each); tempDir null means the system temporary directory
+    public ExternalKruskal(int chunkEdges, Path tempDir) {
+        if (chunkEdges < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkEdges);
+        }
+        this.chunkEdges = chunkEdges;
+        this.tempDir = tempDir;
+    }
+
+    public MSTResult findMST(MappedGraphFile file, int index) throws IOException {
+        return findMST(file, index, Metrics.NONE);
+    }
+
+    public MSTResult findMST(MappedGraphFile file, int index, Metrics metrics) throws IOException {
+        long startTime = System.nanoTime();
+        List<Path> runs = new ArrayList<>();
+        try {
+            long phase = metrics.phaseStart();
+            writeRuns(file, index, runs, metrics);
+            metrics.phaseEnd("runs", phase);
+
+            while (runs.size() > MAX_FAN_IN) {
+                phase = metrics.phaseStart();
+                mergePass(runs);
+                metrics.phaseEnd("merge", phase);
+            }
+
+            phase = metrics.phaseStart();
+            String[] names = file.readNames(index);
+            DisjointSet sets = new DisjointSet(names.length);
+            int treeSize = Math.max(0, names.length - 1);
+            TreeEdges mstEdges = new TreeEdges(names, treeSize);
+            long[] totalCost = new long[1];
+
+            if (treeSize > 0) {
+                merge(runs, (key, from, to) -> {
+                    int rootFrom = sets.find(from);
+                    int rootTo = sets.find(to);
+                    metrics.edgesScanned(1);
+                    metrics.finds(2);
+                    if (rootFrom != rootTo) {
+                        int weight = (int) (key >> 32);
+                        mstEdges.add(from, to, weight);
+                        totalCost[0] += weight;
+                        sets.linkRoots(rootFrom, rootTo);
+                        metrics.union();
+                    }
+                    return mstEdges.size() < treeSize;
+                });
+            }
+            metrics.phaseEnd("scan", phase);
+
+            long endTime = System.nanoTime();
+            double executionTime = (endTime - startTime) / 1_000_000.0;
+
+            return new MSTResult(mstEdges, totalCost[0], metrics, executionTime);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    // Sorts the edges chunk by chunk into runs of (key, from, to) records
+    private void writeRuns(MappedGraphFile file, int index, List<Path> runs, Metrics metrics)
+            throws IOException {
+        int m = file.getEdgeCount(index);
+        int capacity = Math.min(chunkEdges, m);
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        int[] weight = new int[capacity];
+        long[] keys = new long[capacity];
+
+        for (int start = 0; start < m; start += capacity) {
+            int count = Math.min(capacity, m - start);
+            file.readEdges(index, start, count, from, to, weight);
+            int minWeight = Integer.MAX_VALUE;
+            int maxWeight = Integer.MIN_VALUE;
+            for (int i = 0; i < count; i++) {
+                keys[i] = ((long) weight[i] << 32) | (start + i);
+                minWeight = Math.min(minWeight, weight[i]);
+                maxWeight = Math.max(maxWeight, weight[i]);
+            }
+            if (KruskalAlgorithm.radixApplies(count, minWeight, maxWeight)) {
+                KruskalAlgorithm.radixSort(keys, count, minWeight, maxWeight);
+            } else {
+                Arrays.sort(keys, 0, count);
+                metrics.comparisons(count > 1 ? (long) (count * (Math.log(count) / Math.log(2))) : 0);
+            }
+
+            Path run = newRun();
+            runs.add(run);
+            try (DataOutputStream out = openWriter(run)) {
+                for (int i = 0; i < count; i++) {
+                    int local = (int) keys[i] - start;
+                    out.writeLong(keys[i]);
+                    out.writeInt(from[local]);
+                    out.writeInt(to[local]);
+                }
+            }
+        }
+    }
+
+    // Merges the runs MAX_FAN_IN at a time into fewer, longer runs
+    private void mergePass(List<Path> runs) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+                List<Path> group = runs.subList(i, Math.min(runs.size(), i + MAX_FAN_IN));
+                Path run = newRun();
+                merged.add(run);
+                try (DataOutputStream out = openWriter(run)) {
+                    merge(group, (key, from, to) -> {
+                        out.writeLong(key);
+                        out.writeInt(from);
+                        out.writeInt(to);
+                        return true;
+                    });
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            for (Path run : merged) {
+                Files.deleteIfExists(run);
+            }
+            throw e;
+        }
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+        runs.addAll(merged);
+    }
+
+    private interface RecordSink {
+        // Returns false to stop the merge early
+        boolean accept(long key, int from, int to) throws IOException;
+    }
+
+    private static void merge(List<Path> runs, RecordSink sink) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparingLong(reader -> reader.key));
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                if (!sink.accept(reader.key, reader.from, reader.to)) {
+                    return;
+                }
+                if (reader.advance()) {
+                    heads.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private Path newRun() throws IOException {
+        return tempDir == null
+                ? Files.createTempFile("mst-run", ".bin")
+                : Files.createTempFile(tempDir, "mst-run", ".bin");
+    }
+
+    private static DataOutputStream openWriter(Path run) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_BYTES));
+    }
+
+    // Sequential cursor over one run
+    private static class RunReader implements Closeable {
+        private final DataInputStream in;
+        private long remaining;
+        private long key;
+        private int from;
+        private int to;
+
+        RunReader(Path run) throws IOException {
+            remaining = Files.size(run) / 16;
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_BYTES));
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            key = in.readLong();
+            from = in.readInt();
+            to = in.readInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
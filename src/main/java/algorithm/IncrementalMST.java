@@ -0,0 +1,521 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+import structure.DisjointSet;
+import structure.IntList;
+import java.util.*;
+
+// Keeps a minimum spanning forest current while edges are inserted, deleted
+// or reweighted, instead of re-solving the graph after every change.
+//  - insert / decrease: the edge replaces the heaviest tree edge on the path
+//    between its endpoints if it is lighter (cycle property)
+//  - delete / increase of a tree edge: the smaller half of the cut is marked
+//    by BFS and the lightest edge leaving it reconnects the tree (cut property)
+// The forest is kept rooted with parent pointers, so a path query walks only
+// up to the common ancestor; linking re-roots one side along a single path.
+// Edges are ordered by (weight, edge id) like Kruskal, so ties resolve the
+// same way. Not thread-safe.
+public class IncrementalMST {
+    private static final int NOT_CONNECTED = -1;
+
+    private final CompactGraph graph;
+    private final int n;
+    private final Metrics metrics;
+
+    // Edge ids are stable: deleted edges keep their slot but are no longer alive
+    private final IntList edgeFrom;
+    private final IntList edgeTo;
+    private final IntList edgeWeight;
+    private final BitSet alive = new BitSet();
+    private final BitSet inTree = new BitSet();
+    private final IntList[] incident;
+    private final IntList[] treeIncident;
+    private final Map<Long, IntList> edgesByPair = new HashMap<>();
+
+    private long totalCost = 0;
+    private int treeEdgeCount = 0;
+    private double lastUpdateMs = 0;
+
+    // Rooted forest: parent vertex and the tree edge to it, -1 at roots
+    private final int[] parent;
+    private final int[] parentEdge;
+
+    // Traversal scratch, reused between updates
+    private final int[] queueA;
+    private final int[] queueB;
+    private final int[] mark;
+    private int stamp = 0;
+    // Set by heaviestOnPath: whether the heaviest edge lies between u and the common ancestor
+    private boolean heaviestOnUSide;
+
+    public IncrementalMST(Graph graph, MSTResult result) {
+        this(graph.toCompact(), result, Metrics.NONE);
+    }
+
+    // result must be a minimum spanning tree (or forest) of graph, as returned
+    // by any of the MST algorithms; missing edges of a partial forest are
+    // filled in Kruskal-style
+    public IncrementalMST(CompactGraph graph, MSTResult result, Metrics metrics) {
+        long startTime = System.nanoTime();
+        this.graph = graph;
+        this.n = graph.getVertexCount();
+        this.metrics = metrics;
+
+        int m = graph.getEdgeCount();
+        edgeFrom = new IntList(m);
+        edgeTo = new IntList(m);
+        edgeWeight = new IntList(m);
+        incident = new IntList[n];
+        treeIncident = new IntList[n];
+        for (int v = 0; v < n; v++) {
+            incident[v] = new IntList(4);
+            treeIncident[v] = new IntList(2);
+        }
+        parent = new int[n];
+        parentEdge = new int[n];
+        queueA = new int[n];
+        queueB = new int[n];
+        mark = new int[n];
+
+        int[] from = graph.getEdgeFrom();
+        int[] to = graph.getEdgeTo();
+        int[] weight = graph.getEdgeWeight();
+        for (int e = 0; e < m; e++) {
+            addEdge(from[e], to[e], weight[e]);
+        }
+
+        DisjointSet sets = new DisjointSet(n);
+        TreeEdges tree = result.getTree();
+        // Vertex ids can be used as they are when the result was solved on this graph
+        boolean sameNames = tree.getNames() == graph.getNames();
+        for (int i = 0; i < tree.size(); i++) {
+            int u = sameNames ? tree.getFrom(i) : vertex(tree.getFromName(i), tree.toEdge(i));
+            int v = sameNames ? tree.getTo(i) : vertex(tree.getToName(i), tree.toEdge(i));
+            int e = matchTreeEdge(u, v, tree.getWeight(i));
+            if (e < 0) {
+                throw new IllegalArgumentException("MST edge " + tree.toEdge(i) + " is not in graph " + graph.getId());
+            }
+            if (!sets.union(u, v)) {
+                throw new IllegalArgumentException("MST edges of graph " + graph.getId() + " contain a cycle");
+            }
+            addTreeEdge(e);
+        }
+
+        if (sets.getSetCount() > 1) {
+            completeForest(sets);
+        }
+        rootForest();
+        lastUpdateMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    // Returns the id of the new edge
+    public int insertEdge(String from, String to, int weight) {
+        long startTime = System.nanoTime();
+        Edge edge = new Edge(from, to, weight);
+        int e = addEdge(vertex(from, edge), vertex(to, edge), weight);
+        offerNonTreeEdge(e);
+        lastUpdateMs = (System.nanoTime() - startTime) / 1_000_000.0;
+        return e;
+    }
+
+    // Deletes the lightest edge between from and to; false if there is none
+    public boolean deleteEdge(String from, String to) {
+        int e = findEdge(from, to);
+        if (e < 0) {
+            return false;
+        }
+        deleteEdge(e);
+        return true;
+    }
+
+    public void deleteEdge(int edge) {
+        long startTime = System.nanoTime();
+        requireAlive(edge);
+        int u = edgeFrom.get(edge);
+        int v = edgeTo.get(edge);
+        alive.clear(edge);
+        incident[u].removeUnordered(edge);
+        if (v != u) {
+            incident[v].removeUnordered(edge);
+        }
+        edgesByPair.get(pairKey(u, v)).removeUnordered(edge);
+
+        if (inTree.get(edge)) {
+            reconnect(edge);
+        }
+        lastUpdateMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    // Reweights the lightest edge between from and to; false if there is none
+    public boolean updateWeight(String from, String to, int weight) {
+        int e = findEdge(from, to);
+        if (e < 0) {
+            return false;
+        }
+        updateWeight(e, weight);
+        return true;
+    }
+
+    public void updateWeight(int edge, int weight) {
+        long startTime = System.nanoTime();
+        requireAlive(edge);
+        int old = edgeWeight.get(edge);
+        edgeWeight.set(edge, weight);
+
+        if (inTree.get(edge)) {
+            totalCost += (long) weight - old;
+            // A heavier tree edge may now lose to an edge across its cut
+            if (weight > old) {
+                reconnect(edge);
+            }
+        } else if (weight < old) {
+            offerNonTreeEdge(edge);
+        }
+        lastUpdateMs = (System.nanoTime() - startTime) / 1_000_000.0;
+    }
+
+    // Lightest live edge between from and to, or -1
+    public int findEdge(String from, String to) {
+        int u = graph.indexOf(from);
+        int v = graph.indexOf(to);
+        if (u < 0 || v < 0) {
+            return -1;
+        }
+        IntList candidates = edgesByPair.get(pairKey(u, v));
+        int best = -1;
+        for (int i = 0; candidates != null && i < candidates.size(); i++) {
+            int e = candidates.get(i);
+            if (best < 0 || key(e) < key(best)) {
+                best = e;
+            }
+        }
+        return best;
+    }
+
+    public List<Edge> getTreeEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdgeCount);
+        for (int e = inTree.nextSetBit(0); e >= 0; e = inTree.nextSetBit(e + 1)) {
+            edges.add(new Edge(graph.getName(edgeFrom.get(e)), graph.getName(edgeTo.get(e)), edgeWeight.get(e)));
+        }
+        return edges;
+    }
+
+    // Execution time is that of the latest update
+    public MSTResult toResult() {
+        TreeEdges tree = new TreeEdges(graph.getNames(), treeEdgeCount);
+        for (int e = inTree.nextSetBit(0); e >= 0; e = inTree.nextSetBit(e + 1)) {
+            tree.add(edgeFrom.get(e), edgeTo.get(e), edgeWeight.get(e));
+        }
+        return new MSTResult(tree, totalCost, metrics, lastUpdateMs);
+    }
+
+    // Live edges in id order, so Kruskal on it breaks ties the same way
+    public CompactGraph toCompactGraph() {
+        int m = alive.cardinality();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        int i = 0;
+        for (int e = alive.nextSetBit(0); e >= 0; e = alive.nextSetBit(e + 1)) {
+            from[i] = edgeFrom.get(e);
+            to[i] = edgeTo.get(e);
+            weight[i] = edgeWeight.get(e);
+            i++;
+        }
+        return new CompactGraph(graph.getId(), graph.getNames(), from, to, weight, m);
+    }
+
+    public long getTotalCost() { return totalCost; }
+    public int getTreeEdgeCount() { return treeEdgeCount; }
+    public int getEdgeCount() { return alive.cardinality(); }
+    public double getLastUpdateMs() { return lastUpdateMs; }
+
+    private int addEdge(int u, int v, int weight) {
+        int e = edgeFrom.size();
+        edgeFrom.add(u);
+        edgeTo.add(v);
+        edgeWeight.add(weight);
+        alive.set(e);
+        incident[u].add(e);
+        if (v != u) {
+            incident[v].add(e);
+        }
+        edgesByPair.computeIfAbsent(pairKey(u, v), k -> new IntList(1)).add(e);
+        return e;
+    }
+
+    // Lightest unused edge between u and v with exactly this weight, or -1
+    private int matchTreeEdge(int u, int v, int weight) {
+        IntList candidates = edgesByPair.get(pairKey(u, v));
+        for (int i = 0; candidates != null && i < candidates.size(); i++) {
+            int e = candidates.get(i);
+            if (edgeWeight.get(e) == weight && !inTree.get(e)) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    private void completeForest(DisjointSet sets) {
+        int count = 0;
+        long[] keys = new long[edgeFrom.size()];
+        for (int e = alive.nextSetBit(0); e >= 0; e = alive.nextSetBit(e + 1)) {
+            if (!inTree.get(e)) {
+                keys[count++] = key(e);
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 0; i < count && sets.getSetCount() > 1; i++) {
+            int e = (int) keys[i];
+            if (sets.union(edgeFrom.get(e), edgeTo.get(e))) {
+                addTreeEdge(e);
+            }
+        }
+    }
+
+    private void rootForest() {
+        int visit = ++stamp;
+        for (int root = 0; root < n; root++) {
+            if (mark[root] == visit) {
+                continue;
+            }
+            mark[root] = visit;
+            parent[root] = -1;
+            parentEdge[root] = -1;
+            int head = 0;
+            int tail = 0;
+            queueA[tail++] = root;
+            while (head < tail) {
+                int x = queueA[head++];
+                IntList edges = treeIncident[x];
+                for (int i = 0; i < edges.size(); i++) {
+                    int e = edges.get(i);
+                    int y = other(e, x);
+                    if (mark[y] != visit) {
+                        mark[y] = visit;
+                        parent[y] = x;
+                        parentEdge[y] = e;
+                        queueA[tail++] = y;
+                    }
+                }
+            }
+        }
+    }
+
+    private void offerNonTreeEdge(int edge) {
+        int u = edgeFrom.get(edge);
+        int v = edgeTo.get(edge);
+        if (u == v) {
+            return;
+        }
+        int heaviest = heaviestOnPath(u, v);
+        if (heaviest == NOT_CONNECTED) {
+            // Joins two trees of the forest
+            link(edge, u);
+        } else if (key(edge) < key(heaviest)) {
+            unlink(heaviest);
+            // The endpoint that was below the removed edge is now at most
+            // the path length from its root, so re-rooting there is cheap
+            link(edge, heaviestOnUSide ? u : v);
+        }
+    }
+
+    // Marks the ancestors of u, climbs from v to the first marked one (the
+    // common ancestor) and returns the heaviest edge on both legs
+    private int heaviestOnPath(int u, int v) {
+        int visit = ++stamp;
+        long steps = 0;
+        for (int x = u; x >= 0; x = parent[x]) {
+            mark[x] = visit;
+            steps++;
+        }
+        int ancestor = v;
+        while (mark[ancestor] != visit) {
+            ancestor = parent[ancestor];
+            steps++;
+            if (ancestor < 0) {
+                metrics.edgesScanned(steps);
+                return NOT_CONNECTED;
+            }
+        }
+        metrics.edgesScanned(steps);
+
+        int heaviest = -1;
+        heaviestOnUSide = false;
+        for (int x = u; x != ancestor; x = parent[x]) {
+            if (heaviest < 0 || key(parentEdge[x]) > key(heaviest)) {
+                heaviest = parentEdge[x];
+                heaviestOnUSide = true;
+            }
+        }
+        for (int x = v; x != ancestor; x = parent[x]) {
+            if (heaviest < 0 || key(parentEdge[x]) > key(heaviest)) {
+                heaviest = parentEdge[x];
+                heaviestOnUSide = false;
+            }
+        }
+        return heaviest;
+    }
+
+    // Removes a tree edge and links the lightest live edge across the cut it
+    // leaves, if any; the edge itself is a candidate when it is still alive
+    private void reconnect(int edge) {
+        int u = edgeFrom.get(edge);
+        int v = edgeTo.get(edge);
+        unlink(edge);
+
+        int[] side = queueA;
+        int size = markSmallerSide(u, v);
+        if (size < 0) {
+            side = queueB;
+            size = -size;
+        }
+        int sideMark = mark[side[0]];
+
+        int best = -1;
+        long scanned = 0;
+        for (int i = 0; i < size; i++) {
+            int x = side[i];
+            IntList edges = incident[x];
+            scanned += edges.size();
+            for (int j = 0; j < edges.size(); j++) {
+                int e = edges.get(j);
+                // Any neighbour outside the marked half is on the other side:
+                // the forest spans each connected component
+                if (mark[other(e, x)] != sideMark && (best < 0 || key(e) < key(best))) {
+                    best = e;
+                }
+            }
+        }
+        metrics.edgesScanned(scanned);
+
+        if (best >= 0) {
+            int from = edgeFrom.get(best);
+            // Re-root the small side, whose depth is bounded by its size
+            link(best, mark[from] == sideMark ? from : edgeTo.get(best));
+        }
+    }
+
+    // Grows BFS trees from a and b alternately, one vertex at a time, and
+    // stops as soon as one is exhausted. Returns its size: positive for the
+    // side of a (in queueA), negative for the side of b (in queueB).
+    private int markSmallerSide(int a, int b) {
+        int visitA = ++stamp;
+        int visitB = ++stamp;
+        int headA = 0;
+        int tailA = 0;
+        int headB = 0;
+        int tailB = 0;
+        queueA[tailA++] = a;
+        mark[a] = visitA;
+        queueB[tailB++] = b;
+        mark[b] = visitB;
+
+        while (true) {
+            if (headA == tailA) {
+                return tailA;
+            }
+            tailA = expand(queueA[headA++], visitA, queueA, tailA);
+            if (headB == tailB) {
+                return -tailB;
+            }
+            tailB = expand(queueB[headB++], visitB, queueB, tailB);
+        }
+    }
+
+    private int expand(int x, int visit, int[] queue, int tail) {
+        IntList edges = treeIncident[x];
+        for (int i = 0; i < edges.size(); i++) {
+            int y = other(edges.get(i), x);
+            if (mark[y] != visit) {
+                mark[y] = visit;
+                queue[tail++] = y;
+            }
+        }
+        metrics.edgesScanned(edges.size());
+        return tail;
+    }
+
+    // Joins two trees: re-roots the tree of x at x and hangs it below the
+    // other endpoint
+    private void link(int edge, int x) {
+        addTreeEdge(edge);
+        int y = other(edge, x);
+        evert(x);
+        parent[x] = y;
+        parentEdge[x] = edge;
+    }
+
+    private void unlink(int edge) {
+        removeTreeEdge(edge);
+        int x = edgeFrom.get(edge);
+        int child = parentEdge[x] == edge ? x : edgeTo.get(edge);
+        parent[child] = -1;
+        parentEdge[child] = -1;
+    }
+
+    // Reverses the parent pointers on the path from x to its root
+    private void evert(int x) {
+        int previous = -1;
+        int previousEdge = -1;
+        long steps = 0;
+        while (x >= 0) {
+            int next = parent[x];
+            int nextEdge = parentEdge[x];
+            parent[x] = previous;
+            parentEdge[x] = previousEdge;
+            previous = x;
+            previousEdge = nextEdge;
+            x = next;
+            steps++;
+        }
+        metrics.edgesScanned(steps);
+    }
+
+    private void addTreeEdge(int edge) {
+        inTree.set(edge);
+        treeIncident[edgeFrom.get(edge)].add(edge);
+        treeIncident[edgeTo.get(edge)].add(edge);
+        totalCost += edgeWeight.get(edge);
+        treeEdgeCount++;
+        metrics.union();
+    }
+
+    private void removeTreeEdge(int edge) {
+        inTree.clear(edge);
+        treeIncident[edgeFrom.get(edge)].removeUnordered(edge);
+        treeIncident[edgeTo.get(edge)].removeUnordered(edge);
+        totalCost -= edgeWeight.get(edge);
+        treeEdgeCount--;
+    }
+
+    private int vertex(String name, Edge edge) {
+        int v = graph.indexOf(name);
+        if (v < 0) {
+            throw new IllegalArgumentException("Edge " + edge + " of graph " + graph.getId()
+                    + " references unknown vertex " + name);
+        }
+        return v;
+    }
+
+    private void requireAlive(int edge) {
+        if (edge < 0 || edge >= edgeFrom.size() || !alive.get(edge)) {
+            throw new IllegalArgumentException("No live edge with id " + edge + " in graph " + graph.getId());
+        }
+    }
+
+    private int other(int edge, int vertex) {
+        int u = edgeFrom.get(edge);
+        return u == vertex ? edgeTo.get(edge) : u;
+    }
+
+    // Same order as KruskalAlgorithm: by weight, then by edge id
+    private long key(int edge) {
+        return ((long) edgeWeight.get(edge) << 32) | edge;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
@@ -1,69 +1,266 @@
 package algorithm;
 
+import analysis.Metrics;
 import model.*;
+import structure.DisjointSet;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class KruskalAlgorithm {
-    private long operationsCount = 0;
-    private Map<String, String> parent;
-    private Map<String, Integer> rank;
+public class KruskalAlgorithm implements MSTAlgorithm {
+    public enum Mode {
+        // Sorts every edge, then scans until the tree is complete; bounded
+        // weight ranges are radix sorted
+        STANDARD,
+        // Arrays.parallelSort over the packed keys, then the same scan
+        PARALLEL_SORT,
+        // Filter-Kruskal: partitions around pivots, solves the light half
+        // first and drops heavy edges that would close a cycle before sorting
+        FILTER
+    }
+
+    // Below this many edges Filter-Kruskal just sorts the range
+    private static final int FILTER_THRESHOLD = 1 << 10;
+    // Weight ranges up to this many bits are radix sorted, wider ones compared
+    private static final int MAX_RADIX_BITS = 22;
+    private static final int RADIX_DIGIT_BITS = 11;
+    // Below this many edges the counting arrays cost more than they save
+    private static final int RADIX_THRESHOLD = 1 << 10;
+
+    private final Mode mode;
+
+    public KruskalAlgorithm() {
+        this(Mode.STANDARD);
+    }
+
+    public KruskalAlgorithm(Mode mode) {
+        this.mode = mode;
+    }
 
-    public MSTResult findMST(Graph graph) {
+    public Mode getMode() { return mode; }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
         long startTime = System.nanoTime();
-        operationsCount = 0;
-
-        List<Edge> mstEdges = new ArrayList<>();
-        List<Edge> sortedEdges = new ArrayList<>(graph.getEdges());
-        Collections.sort(sortedEdges);
-        operationsCount += sortedEdges.size() * Math.log(sortedEdges.size());
-
-        parent = new HashMap<>();
-        rank = new HashMap<>();
-        for (String node : graph.getNodes()) {
-            parent.put(node, node);
-            rank.put(node, 0);
-            operationsCount += 2;
-        }
 
-        int totalCost = 0;
+        int m = graph.getEdgeCount();
+        int[] edgeWeight = graph.getEdgeWeight();
 
-        for (Edge edge : sortedEdges) {
-            String rootFrom = find(edge.getFrom());
-            String rootTo = find(edge.getTo());
+        // Sort (weight << 32 | edge index) keys instead of Edge objects;
+        // the index in the low bits keeps the order stable
+        long[] sortedEdges = new long[m];
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = Integer.MIN_VALUE;
+        for (int e = 0; e < m; e++) {
+            sortedEdges[e] = ((long) edgeWeight[e] << 32) | e;
+            minWeight = Math.min(minWeight, edgeWeight[e]);
+            maxWeight = Math.max(maxWeight, edgeWeight[e]);
+        }
 
-            operationsCount++; // comparison
+        Scan scan = new Scan(graph, metrics);
 
-            if (!rootFrom.equals(rootTo)) {
-                mstEdges.add(edge);
-                totalCost += edge.getWeight();
-                union(rootFrom, rootTo);
-                operationsCount++; // add operation
-            }
+        switch (mode) {
+            case FILTER:
+                long phase = metrics.phaseStart();
+                filterKruskal(sortedEdges, 0, m, scan);
+                metrics.phaseEnd("filter", phase);
+                break;
+            case PARALLEL_SORT:
+                sort(sortedEdges, 0, m, true, metrics);
+                scan.acceptTimed(sortedEdges, 0, m);
+                break;
+            default:
+                if (radixApplies(m, minWeight, maxWeight)) {
+                    phase = metrics.phaseStart();
+                    radixSort(sortedEdges, m, minWeight, maxWeight);
+                    metrics.phaseEnd("sort", phase);
+                } else {
+                    sort(sortedEdges, 0, m, false, metrics);
+                }
+                scan.acceptTimed(sortedEdges, 0, m);
         }
 
         long endTime = System.nanoTime();
         double executionTime = (endTime - startTime) / 1_000_000.0;
 
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTime);
+        return new MSTResult(scan.mstEdges, scan.totalCost, metrics, executionTime);
     }
 
-    private String find(String node) {
-        operationsCount++; // find operation
-        if (!parent.get(node).equals(node)) {
-            parent.put(node, find(parent.get(node))); // Path compression
+    private static void filterKruskal(long[] keys, int lo, int hi, Scan scan) {
+        while (hi - lo > FILTER_THRESHOLD) {
+            long pivot = pickPivot(keys, lo, hi);
+            int mid = partition(keys, lo, hi, pivot);
+            scan.metrics.comparisons(hi - lo);
+
+            filterKruskal(keys, lo, mid, scan);
+            if (scan.isComplete()) {
+                return;
+            }
+
+            lo = mid;
+            hi = scan.filter(keys, lo, hi);
         }
-        return parent.get(node);
+
+        Arrays.sort(keys, lo, hi);
+        scan.metrics.comparisons(estimatedComparisons(hi - lo));
+        scan.accept(keys, lo, hi);
     }
 
-    private void union(String root1, String root2) {
-        operationsCount++; // union operation
-        if (rank.get(root1) > rank.get(root2)) {
-            parent.put(root2, root1);
-        } else if (rank.get(root1) < rank.get(root2)) {
-            parent.put(root1, root2);
+    private static void sort(long[] keys, int lo, int hi, boolean parallel, Metrics metrics) {
+        long phase = metrics.phaseStart();
+        if (parallel) {
+            Arrays.parallelSort(keys, lo, hi);
         } else {
-            parent.put(root2, root1);
-            rank.put(root1, rank.get(root1) + 1);
+            Arrays.sort(keys, lo, hi);
+        }
+        metrics.comparisons(estimatedComparisons(hi - lo));
+        metrics.phaseEnd("sort", phase);
+    }
+
+    static boolean radixApplies(int n, int minWeight, int maxWeight) {
+        return n >= RADIX_THRESHOLD && (long) maxWeight - minWeight < 1L << MAX_RADIX_BITS;
+    }
+
+    // LSD radix sort of keys[0..n) on the weight in their high half: one
+    // counting pass per digit of (weight - minWeight), so O(n) for a bounded
+    // range. The keys must arrive in index order; every pass is stable, so the
+    // result equals Arrays.sort on the packed keys.
+    static void radixSort(long[] keys, int n, int minWeight, int maxWeight) {
+        long range = (long) maxWeight - minWeight;
+        int bits = Math.max(1, 64 - Long.numberOfLeadingZeros(range));
+        int passes = (bits + RADIX_DIGIT_BITS - 1) / RADIX_DIGIT_BITS;
+        int digitBits = (bits + passes - 1) / passes;
+        int mask = (1 << digitBits) - 1;
+
+        int[] offsets = new int[mask + 2];
+        long[] source = keys;
+        long[] target = new long[n];
+        for (int shift = 0; shift < digitBits * passes; shift += digitBits) {
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < n; i++) {
+                offsets[digit(source[i], minWeight, shift, mask) + 1]++;
+            }
+            for (int d = 0; d <= mask; d++) {
+                offsets[d + 1] += offsets[d];
+            }
+            for (int i = 0; i < n; i++) {
+                target[offsets[digit(source[i], minWeight, shift, mask)]++] = source[i];
+            }
+            long[] tmp = source;
+            source = target;
+            target = tmp;
+        }
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, 0, n);
+        }
+    }
+
+    private static int digit(long key, int minWeight, int shift, int mask) {
+        return (int) (((key >> 32) - minWeight) >>> shift) & mask;
+    }
+
+    // The library sorts are not instrumented, so charge them n log2 n
+    private static long estimatedComparisons(int n) {
+        return n > 1 ? (long) (n * (Math.log(n) / Math.log(2))) : 0;
+    }
+
+    // Median of three random keys, one from each third of [lo, hi) so the
+    // positions differ. Keys are distinct, so the smallest sample lands below
+    // the pivot and the pivot itself above it: both sides of the partition
+    // end up non-empty. Needs hi - lo >= 3.
+    private static long pickPivot(long[] keys, int lo, int hi) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int third = (hi - lo) / 3;
+        long a = keys[random.nextInt(lo, lo + third)];
+        long b = keys[random.nextInt(lo + third, lo + 2 * third)];
+        long c = keys[random.nextInt(lo + 2 * third, hi)];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    // Moves keys lighter than the pivot to the front and returns where the
+    // heavy part starts
+    private static int partition(long[] keys, int lo, int hi, long pivot) {
+        int i = lo;
+        for (int j = lo; j < hi; j++) {
+            if (keys[j] < pivot) {
+                long tmp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = tmp;
+                i++;
+            }
+        }
+        return i;
+    }
+
+    // Per-run state, so one KruskalAlgorithm can be shared between threads
+    private static class Scan {
+        private final int[] edgeFrom;
+        private final int[] edgeTo;
+        private final int[] edgeWeight;
+        private final DisjointSet sets;
+        private final TreeEdges mstEdges;
+        private final int treeSize;
+        private final Metrics metrics;
+        private long totalCost = 0;
+
+        Scan(CompactGraph graph, Metrics metrics) {
+            this.metrics = metrics;
+            this.edgeFrom = graph.getEdgeFrom();
+            this.edgeTo = graph.getEdgeTo();
+            this.edgeWeight = graph.getEdgeWeight();
+            this.sets = new DisjointSet(graph.getVertexCount());
+            this.treeSize = Math.max(0, graph.getVertexCount() - 1);
+            this.mstEdges = new TreeEdges(graph.getNames(), treeSize);
+        }
+
+        boolean isComplete() {
+            return mstEdges.size() == treeSize;
+        }
+
+        void acceptTimed(long[] keys, int lo, int hi) {
+            long phase = metrics.phaseStart();
+            accept(keys, lo, hi);
+            metrics.phaseEnd("scan", phase);
+        }
+
+        // Accepts edges from keys[lo..hi) in order until the tree is complete
+        void accept(long[] keys, int lo, int hi) {
+            int scanned = 0;
+            for (int i = lo; i < hi && !isComplete(); i++) {
+                int edge = (int) keys[i];
+                if (metrics.isEnabled()) {
+                    metrics.findDepth(sets.depth(edgeFrom[edge]) + sets.depth(edgeTo[edge]));
+                }
+                int rootFrom = sets.find(edgeFrom[edge]);
+                int rootTo = sets.find(edgeTo[edge]);
+                scanned++;
+
+                if (rootFrom != rootTo) {
+                    mstEdges.add(edgeFrom[edge], edgeTo[edge], edgeWeight[edge]);
+                    totalCost += edgeWeight[edge];
+                    sets.linkRoots(rootFrom, rootTo);
+                    metrics.union();
+                }
+            }
+            metrics.edgesScanned(scanned);
+            metrics.finds(2L * scanned);
+        }
+
+        // Drops keys[lo..hi) whose endpoints are already connected and
+        // returns the new end of the range
+        int filter(long[] keys, int lo, int hi) {
+            int out = lo;
+            for (int i = lo; i < hi; i++) {
+                int edge = (int) keys[i];
+                if (metrics.isEnabled()) {
+                    metrics.findDepth(sets.depth(edgeFrom[edge]) + sets.depth(edgeTo[edge]));
+                }
+                if (sets.find(edgeFrom[edge]) != sets.find(edgeTo[edge])) {
+                    keys[out++] = keys[i];
+                }
+            }
+            metrics.edgesScanned(hi - lo);
+            metrics.finds(2L * (hi - lo));
+            return out;
         }
     }
 }
@@ -0,0 +1,20 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+
+public interface MSTAlgorithm {
+    MSTResult findMST(CompactGraph graph, Metrics metrics);
+
+    default MSTResult findMST(CompactGraph graph) {
+        return findMST(graph, Metrics.NONE);
+    }
+
+    default MSTResult findMST(Graph graph) {
+        return findMST(graph.toCompact(), Metrics.NONE);
+    }
+
+    default MSTResult findMST(Graph graph, Metrics metrics) {
+        return findMST(graph.toCompact(), metrics);
+    }
+}
@@ -1,58 +1,259 @@
 package algorithm;
 
+import analysis.Metrics;
 import model.*;
+import structure.IndexedMinHeap;
+import structure.LongMinHeap;
 import java.util.*;
 
-public class PrimAlgorithm {
-    private long operationsCount = 0;
+public class PrimAlgorithm implements MSTAlgorithm {
+    public enum Mode {
+        // Pushes every candidate edge and skips stale ones on poll: O(E) heap
+        LAZY,
+        // Keeps one entry per vertex and lowers its key: O(V) heap
+        EAGER,
+        // No heap: scans a key array over an adjacency matrix, O(V^2)
+        DENSE
+    }
+
+    private final Mode mode;
+
+    public PrimAlgorithm() {
+        this(Mode.LAZY);
+    }
 
-    public MSTResult findMST(Graph graph) {
+    public PrimAlgorithm(Mode mode) {
+        this.mode = mode;
+    }
+
+    public Mode getMode() { return mode; }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
+        switch (mode) {
+            case EAGER:
+                return findEager(graph, metrics);
+            case DENSE:
+                long startTime = System.nanoTime();
+                long phase = metrics.phaseStart();
+                MatrixGraph matrix = MatrixGraph.fromCompact(graph);
+                metrics.phaseEnd("matrix", phase);
+                MSTResult result = findMST(matrix, metrics);
+                return new MSTResult(result.getTree(), result.getTotalCost(), metrics,
+                        (System.nanoTime() - startTime) / 1_000_000.0);
+            default:
+                return findLazy(graph, metrics);
+        }
+    }
+
+    public MSTResult findMST(MatrixGraph graph) {
+        return findMST(graph, Metrics.NONE);
+    }
+
+    // Always the O(V^2) scan, whatever the mode; best on near-complete graphs
+    public MSTResult findMST(MatrixGraph graph, Metrics metrics) {
         long startTime = System.nanoTime();
-        operationsCount = 0;
+        long phase = metrics.phaseStart();
 
-        List<Edge> mstEdges = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        PriorityQueue<Edge> pq = new PriorityQueue<>();
+        int n = graph.getVertexCount();
+        TreeEdges mstEdges = new TreeEdges(graph.getNames(), Math.max(0, n - 1));
+        int[] matrix = graph.getWeights();
 
+        boolean[] inTree = new boolean[n];
+        int[] key = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(key, MatrixGraph.NO_EDGE);
+        Arrays.fill(parent, -1);
+
+        long totalCost = 0;
         // Start from first vertex
-        String startNode = graph.getNodes().get(0);
-        visited.add(startNode);
-        operationsCount++; // add to visited
-
-        // Add all edges from first vertex to queue
-        for (Edge edge : graph.getAdjacencyList().get(startNode)) {
-            pq.offer(edge);
-            operationsCount++; // offer operation
+        int u = n > 0 ? 0 : -1;
+        int root = 0;
+
+        while (u >= 0) {
+            inTree[u] = true;
+
+            if (parent[u] >= 0) {
+                mstEdges.add(parent[u], u, key[u]);
+                totalCost += key[u];
+            }
+
+            int row = u * n;
+            int next = -1;
+            for (int v = 0; v < n; v++) {
+                if (inTree[v]) {
+                    continue;
+                }
+                int weight = matrix[row + v];
+                if (weight < key[v]) {
+                    key[v] = weight;
+                    parent[v] = u;
+                }
+                if (parent[v] >= 0 && (next < 0 || key[v] < key[next])) {
+                    next = v;
+                }
+            }
+            metrics.edgesScanned(n);
+            if (next < 0) {
+                // Nothing reachable is left: start the next tree of the forest
+                while (root < n && inTree[root]) {
+                    root++;
+                }
+                next = root < n ? root : -1;
+            }
+            u = next;
+        }
+        metrics.phaseEnd("grow", phase);
+
+        long endTime = System.nanoTime();
+        double executionTime = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult(mstEdges, totalCost, metrics, executionTime);
+    }
+
+    private MSTResult findLazy(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        TreeEdges mstEdges = new TreeEdges(graph.getNames(), Math.max(0, n - 1));
+        if (n == 0) {
+            return new MSTResult(mstEdges, 0, metrics, (System.nanoTime() - startTime) / 1_000_000.0);
+        }
+
+        long phase = metrics.phaseStart();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] edgeIds = graph.getEdgeIds();
+        int[] edgeFrom = graph.getEdgeFrom();
+        int[] edgeTo = graph.getEdgeTo();
+        metrics.phaseEnd("adjacency", phase);
+
+        phase = metrics.phaseStart();
+        boolean[] visited = new boolean[n];
+        int visitedCount = 0;
+        // Entries are (weight << 32 | adjacency slot), so ties break on slot order
+        LongMinHeap pq = new LongMinHeap();
+
+        long totalCost = 0;
+
+        // Grow a tree from every vertex not reached yet, so a disconnected
+        // graph yields its minimum spanning forest
+        for (int root = 0; root < n && visitedCount < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            visitedCount++;
+
+            // Add all edges from the root to queue
+            for (int slot = offsets[root]; slot < offsets[root + 1]; slot++) {
+                pq.push(((long) weights[slot] << 32) | slot);
+                metrics.heapPush();
+            }
+            metrics.edgesScanned(offsets[root + 1] - offsets[root]);
+
+            while (!pq.isEmpty() && visitedCount < n) {
+                long entry = pq.pop();
+                metrics.heapPop();
+
+                int slot = (int) entry;
+                int to = targets[slot];
+                if (visited[to]) {
+                    continue;
+                }
+
+                int edge = edgeIds[slot];
+                int from = edgeFrom[edge] == to ? edgeTo[edge] : edgeFrom[edge];
+                mstEdges.add(from, to, weights[slot]);
+                totalCost += weights[slot];
+                visited[to] = true;
+                visitedCount++;
+
+                for (int next = offsets[to]; next < offsets[to + 1]; next++) {
+                    if (!visited[targets[next]]) {
+                        pq.push(((long) weights[next] << 32) | next);
+                        metrics.heapPush();
+                    }
+                }
+                metrics.edgesScanned(offsets[to + 1] - offsets[to]);
+            }
+            pq.clear();
         }
+        metrics.phaseEnd("grow", phase);
+
+        long endTime = System.nanoTime();
+        double executionTime = (endTime - startTime) / 1_000_000.0;
 
-        int totalCost = 0;
+        return new MSTResult(mstEdges, totalCost, metrics, executionTime);
+    }
 
-        while (!pq.isEmpty() && visited.size() < graph.getVertexCount()) {
-            Edge edge = pq.poll();
-            operationsCount++; // poll operation
+    private MSTResult findEager(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
 
-            operationsCount++; // contains check
-            if (visited.contains(edge.getTo())) {
+        int n = graph.getVertexCount();
+        TreeEdges mstEdges = new TreeEdges(graph.getNames(), Math.max(0, n - 1));
+        if (n == 0) {
+            return new MSTResult(mstEdges, 0, metrics, (System.nanoTime() - startTime) / 1_000_000.0);
+        }
+
+        long phase = metrics.phaseStart();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        metrics.phaseEnd("adjacency", phase);
+
+        phase = metrics.phaseStart();
+        boolean[] inTree = new boolean[n];
+        // Tree endpoint of the cheapest known edge into each vertex, -1 if none yet
+        int[] bestFrom = new int[n];
+        Arrays.fill(bestFrom, -1);
+        IndexedMinHeap pq = new IndexedMinHeap(n);
+
+        long totalCost = 0;
+
+        // One tree per vertex not reached yet, as in findLazy
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) {
                 continue;
             }
+            pq.insert(root, 0);
+            metrics.heapPush();
+
+            while (!pq.isEmpty()) {
+                int v = pq.pop();
+                metrics.heapPop();
+                inTree[v] = true;
 
-            mstEdges.add(edge);
-            totalCost += edge.getWeight();
-            visited.add(edge.getTo());
-            operationsCount += 2; // add operations
+                if (bestFrom[v] >= 0) {
+                    int weight = pq.keyOf(v);
+                    mstEdges.add(bestFrom[v], v, weight);
+                    totalCost += weight;
+                }
 
-            for (Edge nextEdge : graph.getAdjacencyList().get(edge.getTo())) {
-                operationsCount++; // contains check
-                if (!visited.contains(nextEdge.getTo())) {
-                    pq.offer(nextEdge);
-                    operationsCount++; // offer operation
+                for (int slot = offsets[v]; slot < offsets[v + 1]; slot++) {
+                    int to = targets[slot];
+                    if (inTree[to]) {
+                        continue;
+                    }
+                    if (!pq.contains(to)) {
+                        bestFrom[to] = v;
+                        pq.insert(to, weights[slot]);
+                        metrics.heapPush();
+                    } else if (weights[slot] < pq.keyOf(to)) {
+                        bestFrom[to] = v;
+                        pq.decreaseKey(to, weights[slot]);
+                        metrics.decreaseKey();
+                    }
                 }
+                metrics.edgesScanned(offsets[v + 1] - offsets[v]);
             }
         }
+        metrics.phaseEnd("grow", phase);
 
         long endTime = System.nanoTime();
         double executionTime = (endTime - startTime) / 1_000_000.0;
 
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTime);
+        return new MSTResult(mstEdges, totalCost, metrics, executionTime);
     }
 }
@@ -0,0 +1,257 @@
+package algorithm;
+
+import analysis.GraphStatistics;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import java.io.*;
+import java.util.*;
+
+// Decides which engine should solve a graph of a given shape. Without
+// calibration it follows fixed rules of thumb. calibrate() times every engine
+// on generated graphs of several sizes, degrees and weight ranges on this
+// machine; a graph then goes to the engine that was fastest on the nearest
+// measured shape.
+public class SolverProfile {
+    // The dense Prim keeps a V x V int matrix; above this it is never picked
+    static final int DENSE_MAX_VERTICES = 1 << 12;
+
+    private static final int[] CALIBRATION_VERTICES = {2_000, 50_000};
+    private static final int[] CALIBRATION_DEGREES = {4, 16, 64};
+    private static final int CALIBRATION_DENSE_VERTICES = 1_500;
+    private static final WeightDistribution[] CALIBRATION_WEIGHTS = {
+            WeightDistribution.UNIFORM, WeightDistribution.SMALL_RANGE};
+    private static final int CALIBRATION_REPEATS = 3;
+
+    // One measured shape and the best time of each engine on it
+    public static class Sample {
+        private final int vertices;
+        private final double averageDegree;
+        private final long weightRange;
+        private final Map<Engine, Double> timesMs;
+
+        public Sample(int vertices, double averageDegree, long weightRange, Map<Engine, Double> timesMs) {
+            this.vertices = vertices;
+            this.averageDegree = averageDegree;
+            this.weightRange = weightRange;
+            this.timesMs = timesMs;
+        }
+
+        // Fastest engine that can handle a graph with this many vertices
+        Engine fastest(int vertexCount) {
+            Engine best = null;
+            for (Map.Entry<Engine, Double> entry : timesMs.entrySet()) {
+                if (entry.getKey() == Engine.PRIM_DENSE && vertexCount > DENSE_MAX_VERTICES) {
+                    continue;
+                }
+                if (best == null || entry.getValue() < timesMs.get(best)) {
+                    best = entry.getKey();
+                }
+            }
+            return best;
+        }
+
+        // Distance in log space, weight range counting less than size and degree
+        double distanceTo(GraphStatistics stats) {
+            double v = log2(vertices) - log2(stats.getVertexCount());
+            double d = log2(averageDegree) - log2(stats.getAverageDegree());
+            double w = log2(weightRange) - log2(stats.getWeightRange());
+            return v * v + d * d + 0.25 * w * w;
+        }
+
+        public int getVertices() { return vertices; }
+        public double getAverageDegree() { return averageDegree; }
+        public long getWeightRange() { return weightRange; }
+        public Map<Engine, Double> getTimesMs() { return timesMs; }
+    }
+
+    private final List<Sample> samples;
+
+    public SolverProfile(List<Sample> samples) {
+        this.samples = samples;
+    }
+
+    public static SolverProfile defaults() {
+        return new SolverProfile(Collections.emptyList());
+    }
+
+    public boolean isCalibrated() {
+        return !samples.isEmpty();
+    }
+
+    public List<Sample> getSamples() { return samples; }
+
+    public Engine choose(GraphStatistics stats) {
+        if (stats.getEdgeCount() == 0) {
+            return Engine.KRUSKAL;
+        }
+        if (!samples.isEmpty()) {
+            Sample nearest = samples.get(0);
+            for (Sample sample : samples) {
+                if (sample.distanceTo(stats) < nearest.distanceTo(stats)) {
+                    nearest = sample;
+                }
+            }
+            Engine engine = nearest.fastest(stats.getVertexCount());
+            if (engine != null) {
+                return engine;
+            }
+        }
+        return rulesOfThumb(stats);
+    }
+
+    // The advice PerformanceAnalyzer.printRecommendations gives, made executable
+    private static Engine rulesOfThumb(GraphStatistics stats) {
+        if (stats.getDensity() > 0.5 && stats.getVertexCount() <= DENSE_MAX_VERTICES) {
+            return Engine.PRIM_DENSE;
+        }
+        if (stats.getAverageDegree() >= 16) {
+            return Engine.PRIM_EAGER;
+        }
+        if (stats.getEdgeCount() >= 1 << 20 && Runtime.getRuntime().availableProcessors() > 1) {
+            return Engine.BORUVKA;
+        }
+        if (stats.getAverageDegree() >= 6) {
+            return Engine.KRUSKAL_FILTER;
+        }
+        return Engine.KRUSKAL;
+    }
+
+    public static SolverProfile calibrate(PrintStream log) {
+        warmUp();
+        List<Sample> samples = new ArrayList<>();
+        long seed = 1;
+        for (WeightDistribution weights : CALIBRATION_WEIGHTS) {
+            for (int vertices : CALIBRATION_VERTICES) {
+                for (int degree : CALIBRATION_DEGREES) {
+                    samples.add(measure(GraphGenerator.erdosRenyi(0, vertices, (long) vertices * degree / 2,
+                            weights, seed++), log));
+                }
+            }
+            samples.add(measure(GraphGenerator.complete(0, CALIBRATION_DENSE_VERTICES, weights, seed++), log));
+        }
+        return new SolverProfile(samples);
+    }
+
+    // Gets every engine compiled before anything is timed
+    private static void warmUp() {
+        CompactGraph graph = GraphGenerator.erdosRenyi(0, 20_000, 160_000, WeightDistribution.UNIFORM, 0);
+        for (Engine engine : Engine.values()) {
+            MSTAlgorithm algorithm = engine.create();
+            for (int i = 0; i < 5; i++) {
+                algorithm.findMST(graph);
+            }
+        }
+    }
+
+    private static Sample measure(CompactGraph graph, PrintStream log) {
+        GraphStatistics stats = GraphStatistics.of(graph);
+        graph.getOffsets(); // the CSR build is shared by every engine, keep it out of the timings
+
+        Map<Engine, Double> times = new EnumMap<>(Engine.class);
+        for (Engine engine : Engine.values()) {
+            if (engine == Engine.PRIM_DENSE && graph.getVertexCount() > DENSE_MAX_VERTICES) {
+                continue;
+            }
+            MSTAlgorithm algorithm = engine.create();
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < CALIBRATION_REPEATS; i++) {
+                long start = System.nanoTime();
+                algorithm.findMST(graph);
+                best = Math.min(best, (System.nanoTime() - start) / 1_000_000.0);
+            }
+            times.put(engine, best);
+        }
+
+        Sample sample = new Sample(stats.getVertexCount(), stats.getAverageDegree(), stats.getWeightRange(), times);
+        log.println("   " + stats + " -> " + sample.fastest(stats.getVertexCount())
+                + String.format(" (%.2f ms)", times.get(sample.fastest(stats.getVertexCount()))));
+        return sample;
+    }
+
+    public void save(String filename) throws IOException {
+        try (JsonWriter writer = new JsonWriter(new FileWriter(filename))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("processors").value(Runtime.getRuntime().availableProcessors());
+            writer.name("samples");
+            writer.beginArray();
+            for (Sample sample : samples) {
+                writer.beginObject();
+                writer.name("vertices").value(sample.vertices);
+                writer.name("average_degree").value(sample.averageDegree);
+                writer.name("weight_range").value(sample.weightRange);
+                writer.name("times_ms");
+                writer.beginObject();
+                for (Map.Entry<Engine, Double> entry : sample.timesMs.entrySet()) {
+                    writer.name(entry.getKey().name()).value(entry.getValue());
+                }
+                writer.endObject();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
+    public static SolverProfile load(String filename) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(filename)))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("samples")) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    samples.add(readSample(reader));
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new IOException("Malformed solver profile " + filename + ": " + e.getMessage(), e);
+        }
+        return new SolverProfile(samples);
+    }
+
+    private static Sample readSample(JsonReader reader) throws IOException {
+        int vertices = 0;
+        double averageDegree = 0;
+        long weightRange = 0;
+        Map<Engine, Double> times = new EnumMap<>(Engine.class);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "vertices":
+                    vertices = reader.nextInt();
+                    break;
+                case "average_degree":
+                    averageDegree = reader.nextDouble();
+                    break;
+                case "weight_range":
+                    weightRange = reader.nextLong();
+                    break;
+                case "times_ms":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        times.put(Engine.valueOf(reader.nextName()), reader.nextDouble());
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Sample(vertices, averageDegree, weightRange, times);
+    }
+
+    private static double log2(double value) {
+        return Math.log(Math.max(1.0, value)) / Math.log(2);
+    }
+}
@@ -0,0 +1,219 @@
+package algorithm;
+
+import analysis.Metrics;
+import model.*;
+import structure.DisjointSet;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Minimum spanning forest by components: one union-find pass labels the
+// connected components, each component is copied into its own compact graph
+// and solved by the wrapped algorithm, with components spread over a
+// ForkJoinPool. The result carries one MSTResult per component.
+public class SpanningForestAlgorithm implements MSTAlgorithm {
+    // Neighbouring components are solved in one task up to about this many edges
+    private static final int TASK_EDGES = 1 << 14;
+
+    private final MSTAlgorithm algorithm;
+    private final ForkJoinPool pool;
+
+    public SpanningForestAlgorithm(MSTAlgorithm algorithm) {
+        this(algorithm, ForkJoinPool.commonPool());
+    }
+
+    public SpanningForestAlgorithm(MSTAlgorithm algorithm, ForkJoinPool pool) {
+        this.algorithm = algorithm;
+        this.pool = pool;
+    }
+
+    public MSTAlgorithm getAlgorithm() { return algorithm; }
+
+    @Override
+    public MSTResult findMST(CompactGraph graph, Metrics metrics) {
+        long startTime = System.nanoTime();
+        long phase = metrics.phaseStart();
+        Components components = new Components(graph, metrics);
+        metrics.phaseEnd("components", phase);
+
+        int count = components.count;
+        if (count == 1) {
+            // Connected: no need to copy the graph
+            MSTResult whole = algorithm.findMST(graph, metrics);
+            return new MSTResult(whole.getTree(), whole.getTotalCost(), metrics,
+                    (System.nanoTime() - startTime) / 1_000_000.0, Collections.singletonList(whole),
+                    whole.getEngine());
+        }
+
+        MSTResult[] results = new MSTResult[count];
+        Metrics[] children = new Metrics[count];
+        pool.invoke(new ComponentTask(0, count, (lo, hi) -> {
+            for (int c = lo; c < hi; c++) {
+                if (components.vertexStart[c + 1] - components.vertexStart[c] == 1) {
+                    // A lone vertex: nothing to solve
+                    results[c] = new MSTResult(TreeEdges.empty(), 0, Metrics.NONE, 0);
+                    continue;
+                }
+                children[c] = metrics.fork();
+                results[c] = algorithm.findMST(components.extract(c), children[c]);
+            }
+        }, components.edgeStart));
+
+        TreeEdges mstEdges = new TreeEdges(graph.getNames(), graph.getVertexCount() - count);
+        long totalCost = 0;
+        // An adaptive algorithm may pick a different engine per component
+        Set<String> engines = new TreeSet<>();
+        for (int c = 0; c < count; c++) {
+            components.appendTree(c, results[c].getTree(), mstEdges);
+            totalCost += results[c].getTotalCost();
+            if (results[c].getEngine() != null) {
+                engines.add(results[c].getEngine());
+            }
+            if (children[c] != null) {
+                metrics.join(children[c]);
+            }
+        }
+
+        long endTime = System.nanoTime();
+        double executionTime = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult(mstEdges, totalCost, metrics, executionTime, Arrays.asList(results),
+                engines.isEmpty() ? null : String.join(",", engines));
+    }
+
+    // Vertices and edges grouped by component with a counting sort. Components
+    // are numbered by their lowest vertex and keep the original edge order, so
+    // ties break the same way as on the whole graph.
+    private static class Components {
+        private final CompactGraph graph;
+        private final int count;
+        private final int[] componentOf;
+        private final int[] localId;
+        private final int[] vertexStart;
+        private final int[] vertices;
+        private final int[] edgeStart;
+        private final int[] edges;
+
+        Components(CompactGraph graph, Metrics metrics) {
+            this.graph = graph;
+            int n = graph.getVertexCount();
+            int m = graph.getEdgeCount();
+            int[] from = graph.getEdgeFrom();
+            int[] to = graph.getEdgeTo();
+
+            DisjointSet sets = new DisjointSet(n);
+            for (int e = 0; e < m; e++) {
+                if (sets.union(from[e], to[e])) {
+                    metrics.union();
+                }
+            }
+            metrics.finds(2L * m);
+
+            componentOf = new int[n];
+            int[] label = new int[n];
+            Arrays.fill(label, -1);
+            int components = 0;
+            for (int v = 0; v < n; v++) {
+                int root = sets.find(v);
+                if (label[root] < 0) {
+                    label[root] = components++;
+                }
+                componentOf[v] = label[root];
+            }
+            count = components;
+
+            vertexStart = new int[count + 1];
+            edgeStart = new int[count + 1];
+            for (int v = 0; v < n; v++) {
+                vertexStart[componentOf[v] + 1]++;
+            }
+            for (int e = 0; e < m; e++) {
+                edgeStart[componentOf[from[e]] + 1]++;
+            }
+            for (int c = 0; c < count; c++) {
+                vertexStart[c + 1] += vertexStart[c];
+                edgeStart[c + 1] += edgeStart[c];
+            }
+
+            vertices = new int[n];
+            localId = new int[n];
+            int[] next = Arrays.copyOf(vertexStart, count);
+            for (int v = 0; v < n; v++) {
+                int slot = next[componentOf[v]]++;
+                vertices[slot] = v;
+                localId[v] = slot - vertexStart[componentOf[v]];
+            }
+            edges = new int[m];
+            next = Arrays.copyOf(edgeStart, count);
+            for (int e = 0; e < m; e++) {
+                edges[next[componentOf[from[e]]]++] = e;
+            }
+        }
+
+        // Appends the tree of component c to forest, mapping its local vertex
+        // ids back to ids of the whole graph
+        void appendTree(int c, TreeEdges tree, TreeEdges forest) {
+            int base = vertexStart[c];
+            for (int i = 0; i < tree.size(); i++) {
+                forest.add(vertices[base + tree.getFrom(i)], vertices[base + tree.getTo(i)], tree.getWeight(i));
+            }
+        }
+
+        // Component c as a graph of its own, with vertex ids renumbered from 0
+        CompactGraph extract(int c) {
+            int[] from = graph.getEdgeFrom();
+            int[] to = graph.getEdgeTo();
+            int[] weight = graph.getEdgeWeight();
+
+            int vertexCount = vertexStart[c + 1] - vertexStart[c];
+            String[] names = new String[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                names[i] = graph.getName(vertices[vertexStart[c] + i]);
+            }
+
+            int edgeCount = edgeStart[c + 1] - edgeStart[c];
+            int[] localFrom = new int[edgeCount];
+            int[] localTo = new int[edgeCount];
+            int[] localWeight = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                int e = edges[edgeStart[c] + i];
+                localFrom[i] = localId[from[e]];
+                localTo[i] = localId[to[e]];
+                localWeight[i] = weight[e];
+            }
+            return new CompactGraph(graph.getId(), names, localFrom, localTo, localWeight, edgeCount);
+        }
+    }
+
+    private interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    // Splits a range of components until it holds a single component or few
+    // enough edges to be solved in one go
+    private static class ComponentTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final RangeBody body;
+        private final int[] edgeStart;
+
+        ComponentTask(int lo, int hi, RangeBody body, int[] edgeStart) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+            this.edgeStart = edgeStart;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1 || edgeStart[hi] - edgeStart[lo] <= TASK_EDGES) {
+                body.run(lo, hi);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ComponentTask(lo, mid, body, edgeStart), new ComponentTask(mid, hi, body, edgeStart));
+        }
+    }
+}
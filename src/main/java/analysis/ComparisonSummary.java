@@ -0,0 +1,40 @@
+package analysis;
+
+import model.*;
+
+// Running tally of Prim vs Kruskal wins, so the overall statistics can be
+// printed without keeping every graph's result around. Times are only
+// compared when both results were solved, not served from a cache.
+public class ComparisonSummary {
+    private int graphCount;
+    private int timedGraphCount;
+    private int primWinsOps;
+    private int kruskalWinsOps;
+    private int primWinsTime;
+    private int kruskalWinsTime;
+
+    public void record(MSTResult primResult, MSTResult kruskalResult) {
+        graphCount++;
+
+        long primOps = primResult.getOperationsCount();
+        long kruskalOps = kruskalResult.getOperationsCount();
+        if (primOps < kruskalOps) primWinsOps++;
+        else if (kruskalOps < primOps) kruskalWinsOps++;
+
+        if (primResult.isCached() || kruskalResult.isCached()) {
+            return;
+        }
+        timedGraphCount++;
+        double primTime = primResult.getExecutionTimeMs();
+        double kruskalTime = kruskalResult.getExecutionTimeMs();
+        if (primTime < kruskalTime) primWinsTime++;
+        else if (kruskalTime < primTime) kruskalWinsTime++;
+    }
+
+    public int getGraphCount() { return graphCount; }
+    public int getTimedGraphCount() { return timedGraphCount; }
+    public int getPrimWinsOps() { return primWinsOps; }
+    public int getKruskalWinsOps() { return kruskalWinsOps; }
+    public int getPrimWinsTime() { return primWinsTime; }
+    public int getKruskalWinsTime() { return kruskalWinsTime; }
+}
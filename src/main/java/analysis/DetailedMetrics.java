@@ -0,0 +1,120 @@
+package analysis;
+
+import java.util.*;
+
+public class DetailedMetrics implements Metrics {
+    private long heapPushes;
+    private long heapPops;
+    private long decreaseKeys;
+    private long edgesScanned;
+    private long comparisons;
+    private long finds;
+    private long findDepth;
+    private long unions;
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+
+    @Override public boolean isEnabled() { return true; }
+    @Override public void heapPush() { heapPushes++; }
+    @Override public void heapPop() { heapPops++; }
+    @Override public void decreaseKey() { decreaseKeys++; }
+    @Override public void edgesScanned(long count) { edgesScanned += count; }
+    @Override public void comparisons(long count) { comparisons += count; }
+    @Override public void finds(long count) { finds += count; }
+    @Override public void findDepth(long hops) { findDepth += hops; }
+    @Override public void union() { unions++; }
+
+    @Override
+    public long phaseStart() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void phaseEnd(String phase, long start) {
+        phaseNanos.merge(phase, System.nanoTime() - start, Long::sum);
+    }
+
+    @Override
+    public long getTotalOperations() {
+        return heapPushes + heapPops + decreaseKeys + edgesScanned + comparisons + finds + unions;
+    }
+
+    @Override
+    public Metrics fork() {
+        return new DetailedMetrics();
+    }
+
+    // Phase times of parallel children add up, so they can exceed wall time
+    @Override
+    public synchronized void join(Metrics child) {
+        if (!(child instanceof DetailedMetrics)) {
+            return;
+        }
+        DetailedMetrics other = (DetailedMetrics) child;
+        heapPushes += other.heapPushes;
+        heapPops += other.heapPops;
+        decreaseKeys += other.decreaseKeys;
+        edgesScanned += other.edgesScanned;
+        comparisons += other.comparisons;
+        finds += other.finds;
+        findDepth += other.findDepth;
+        unions += other.unions;
+        for (Map.Entry<String, Long> phase : other.phaseNanos.entrySet()) {
+            phaseNanos.merge(phase.getKey(), phase.getValue(), Long::sum);
+        }
+    }
+
+    // Counter name -> value, in a stable order for printing and output
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("heap_pushes", heapPushes);
+        counters.put("heap_pops", heapPops);
+        counters.put("decrease_keys", decreaseKeys);
+        counters.put("edges_scanned", edgesScanned);
+        counters.put("comparisons", comparisons);
+        counters.put("finds", finds);
+        counters.put("find_depth", findDepth);
+        counters.put("unions", unions);
+        return counters;
+    }
+
+    public Map<String, Double> getPhaseTimesMs() {
+        Map<String, Double> times = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : phaseNanos.entrySet()) {
+            times.put(entry.getKey(), entry.getValue() / 1_000_000.0);
+        }
+        return times;
+    }
+
+    // Inverse of getCounters() and getPhaseTimesMs(), for metrics read back
+    // from storage; unknown counter names are ignored
+    public static DetailedMetrics restore(Map<String, Long> counters, Map<String, Double> phaseTimesMs) {
+        DetailedMetrics metrics = new DetailedMetrics();
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            long value = counter.getValue();
+            switch (counter.getKey()) {
+                case "heap_pushes": metrics.heapPushes = value; break;
+                case "heap_pops": metrics.heapPops = value; break;
+                case "decrease_keys": metrics.decreaseKeys = value; break;
+                case "edges_scanned": metrics.edgesScanned = value; break;
+                case "comparisons": metrics.comparisons = value; break;
+                case "finds": metrics.finds = value; break;
+                case "find_depth": metrics.findDepth = value; break;
+                case "unions": metrics.unions = value; break;
+                default: break;
+            }
+        }
+        for (Map.Entry<String, Double> phase : phaseTimesMs.entrySet()) {
+            metrics.phaseNanos.put(phase.getKey(), Math.round(phase.getValue() * 1_000_000.0));
+        }
+        return metrics;
+    }
+
+    public long getHeapPushes() { return heapPushes; }
+    public long getHeapPops() { return heapPops; }
+    public long getDecreaseKeys() { return decreaseKeys; }
+    public long getEdgesScanned() { return edgesScanned; }
+    public long getComparisons() { return comparisons; }
+    public long getFinds() { return finds; }
+    public long getFindDepth() { return findDepth; }
+    public long getUnions() { return unions; }
+}
@@ -0,0 +1,56 @@
+package analysis;
+
+import model.*;
+
+// Shape of a graph as far as choosing an MST engine is concerned: size,
+// density and the spread of the edge weights. Costs one pass over the weights.
+public class GraphStatistics {
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int minWeight;
+    private final int maxWeight;
+
+    public GraphStatistics(int vertexCount, int edgeCount, int minWeight, int maxWeight) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+    }
+
+    public static GraphStatistics of(CompactGraph graph) {
+        int[] weights = graph.getEdgeWeight();
+        int m = graph.getEdgeCount();
+        int min = m > 0 ? Integer.MAX_VALUE : 0;
+        int max = m > 0 ? Integer.MIN_VALUE : 0;
+        for (int e = 0; e < m; e++) {
+            min = Math.min(min, weights[e]);
+            max = Math.max(max, weights[e]);
+        }
+        return new GraphStatistics(graph.getVertexCount(), m, min, max);
+    }
+
+    // Edges over the V(V-1)/2 possible pairs; parallel edges can push it past 1
+    public double getDensity() {
+        long pairs = (long) vertexCount * (vertexCount - 1) / 2;
+        return pairs == 0 ? 0.0 : edgeCount / (double) pairs;
+    }
+
+    public double getAverageDegree() {
+        return vertexCount == 0 ? 0.0 : 2.0 * edgeCount / vertexCount;
+    }
+
+    public long getWeightRange() {
+        return (long) maxWeight - minWeight;
+    }
+
+    public int getVertexCount() { return vertexCount; }
+    public int getEdgeCount() { return edgeCount; }
+    public int getMinWeight() { return minWeight; }
+    public int getMaxWeight() { return maxWeight; }
+
+    @Override
+    public String toString() {
+        return String.format("V=%d, E=%d, density=%.2f%%, weights=[%d, %d]",
+                vertexCount, edgeCount, getDensity() * 100, minWeight, maxWeight);
+    }
+}
@@ -0,0 +1,32 @@
+package analysis;
+
+// Instrumentation hooks the MST algorithms call while they run. Metrics.NONE
+// does nothing; with it the JIT inlines the empty calls away, so production
+// runs pay nothing. DetailedMetrics counts every event and times each phase.
+// An instance belongs to a single run and is not thread-safe.
+public interface Metrics {
+    Metrics NONE = NoOpMetrics.INSTANCE;
+
+    boolean isEnabled();
+
+    void heapPush();
+    void heapPop();
+    void decreaseKey();
+    void edgesScanned(long count);
+    void comparisons(long count);
+    void finds(long count);
+    // Parent links walked by finds, measured before path halving shortens them
+    void findDepth(long hops);
+    void union();
+
+    // Returns a token for phaseEnd; both are no-ops when disabled
+    long phaseStart();
+    void phaseEnd(String phase, long start);
+
+    long getTotalOperations();
+
+    // A fresh, empty instance of the same kind for work done on another
+    // thread; join() adds its counts and phase times back into this one
+    Metrics fork();
+    void join(Metrics child);
+}
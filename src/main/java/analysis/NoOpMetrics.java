@@ -0,0 +1,23 @@
+package analysis;
+
+final class NoOpMetrics implements Metrics {
+    static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private NoOpMetrics() {
+    }
+
+    @Override public boolean isEnabled() { return false; }
+    @Override public void heapPush() { }
+    @Override public void heapPop() { }
+    @Override public void decreaseKey() { }
+    @Override public void edgesScanned(long count) { }
+    @Override public void comparisons(long count) { }
+    @Override public void finds(long count) { }
+    @Override public void findDepth(long hops) { }
+    @Override public void union() { }
+    @Override public long phaseStart() { return 0; }
+    @Override public void phaseEnd(String phase, long start) { }
+    @Override public long getTotalOperations() { return 0; }
+    @Override public Metrics fork() { return this; }
+    @Override public void join(Metrics child) { }
+}
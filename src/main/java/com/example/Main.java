@@ -1,92 +1,324 @@
 package com.example;
 
+import algorithm.AdaptiveSolver;
+import algorithm.BatchSolver;
+import algorithm.CachingAlgorithm;
+import algorithm.ExternalKruskal;
 import algorithm.KruskalAlgorithm;
+import algorithm.MSTAlgorithm;
 import algorithm.PrimAlgorithm;
-import model.Edge;
+import algorithm.SolverProfile;
+import algorithm.SpanningForestAlgorithm;
 import model.Graph;
 import model.MSTResult;
+import util.BinaryGraphWriter;
 import util.JSONReader;
-import util.JSONWriter;
+import util.MappedGraphFile;
+import util.ResultCache;
+import util.ResultStreamWriter;
+import analysis.ComparisonSummary;
+import analysis.DetailedMetrics;
 import analysis.PerformanceAnalyzer;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 public class Main {
+    private static final String USAGE =
+            "Usage: Main [input.json|input.bin] [output.json] [--compact] [--forest] [--auto [--profile file]]\n"
+            + "            [--threads N | --virtual] [--cache [--cache-dir dir]]\n"
+            + "       Main [input.json] --to-binary output.bin\n"
+            + "       Main input.bin [output.json] [--compact] --external\n"
+            + "       Main --calibrate [--profile file]\n"
+            + "       Main --serve [--port N] [--threads N] [--forest] [--auto [--profile file]] [--cache [--cache-dir dir]]";
+
+    // Options followed by a value, which must not be read as a file name when it is missing
+    private static final Set<String> VALUE_OPTIONS = Set.of("--to-binary", "--profile", "--threads", "--port", "--cache-dir");
+
     public static void main(String[] args) {
         System.out.println("╔════════════════════════════════════════════════════════════╗");
         System.out.println("║   ASSIGNMENT 3: MST OPTIMIZATION - CITY TRANSPORTATION    ║");
         System.out.println("╚════════════════════════════════════════════════════════════╝\n");
 
         String inputFile = "src/main/resources/ass_3_input.json";
-        List<Graph> graphs = JSONReader.readGraphs(inputFile);
+        String outputFile = "src/main/resources/ass_3_output.json";
+        String binaryFile = null;
+        boolean compact = false;
+        boolean forest = false;
+        boolean external = false;
+        boolean auto = false;
+        boolean calibrate = false;
+        String profileFile = "mst-profile.json";
+        int threads = 1;
+        boolean threadsGiven = false;
+        boolean virtual = false;
+        boolean serve = false;
+        int port = SolverServer.DEFAULT_PORT;
+        boolean cache = false;
+        String cacheDir = null;
 
-        if (graphs.isEmpty()) {
-            System.err.println("❌ ERROR: No graphs loaded from " + inputFile);
-            System.err.println("Please check if the file exists and is properly formatted.");
+        int position = 0;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (VALUE_OPTIONS.contains(arg) && i + 1 == args.length) {
+                System.err.println("❌ ERROR: " + arg + " expects a value");
+                System.err.println(USAGE);
+                return;
+            }
+            if (arg.equals("--compact")) {
+                compact = true;
+            } else if (arg.equals("--forest")) {
+                forest = true;
+            } else if (arg.equals("--external")) {
+                external = true;
+            } else if (arg.equals("--auto")) {
+                auto = true;
+            } else if (arg.equals("--calibrate")) {
+                calibrate = true;
+            } else if (arg.equals("--profile")) {
+                profileFile = args[++i];
+            } else if (arg.equals("--to-binary")) {
+                binaryFile = args[++i];
+            } else if (arg.equals("--threads")) {
+                try {
+                    threads = Math.max(1, Integer.parseInt(args[++i]));
+                } catch (NumberFormatException e) {
+                    System.err.println("❌ ERROR: --threads expects a number, got '" + args[i] + "'");
+                    System.err.println(USAGE);
+                    return;
+                }
+                threadsGiven = true;
+            } else if (arg.equals("--virtual")) {
+                virtual = true;
+            } else if (arg.equals("--serve")) {
+                serve = true;
+            } else if (arg.equals("--port")) {
+                try {
+                    port = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    port = -1;
+                }
+                if (port < 0 || port > 65535) {
+                    System.err.println("❌ ERROR: --port expects a port number from 0 to 65535, got '" + args[i] + "'");
+                    System.err.println(USAGE);
+                    return;
+                }
+            } else if (arg.equals("--cache")) {
+                cache = true;
+            } else if (arg.equals("--cache-dir")) {
+                cache = true;
+                cacheDir = args[++i];
+            } else if (position++ == 0) {
+                inputFile = arg;
+            } else {
+                outputFile = arg;
+            }
+        }
+
+        if (binaryFile != null) {
+            try {
+                int count = BinaryGraphWriter.convertJson(inputFile, binaryFile);
+                System.out.println("✅ Converted " + count + " graph(s) to " + binaryFile);
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("❌ ERROR: Failed to convert " + inputFile + ": " + e.getMessage());
+            }
             return;
         }
 
-        System.out.println("✅ Successfully loaded " + graphs.size() + " graph(s)\n");
+        if (external) {
+            solveExternal(inputFile, outputFile, compact);
+            return;
+        }
 
-        List<Map<String, Object>> results = new ArrayList<>();
+        if (calibrate) {
+            runCalibration(profileFile);
+            return;
+        }
 
-        for (Graph graph : graphs) {
-            PrimAlgorithm prim = new PrimAlgorithm();
-            MSTResult primResult = prim.findMST(graph);
+        Map<String, MSTAlgorithm> algorithms = new LinkedHashMap<>();
+        if (auto) {
+            // One engine per graph, chosen from its statistics
+            algorithms.put("auto", new AdaptiveSolver(loadProfile(profileFile)));
+        } else {
+            algorithms.put("prim", new PrimAlgorithm());
+            algorithms.put("kruskal", new KruskalAlgorithm());
+        }
+        if (forest) {
+            // Solve each connected component separately and report them one by one
+            algorithms.replaceAll((name, algorithm) -> new SpanningForestAlgorithm(algorithm));
+        }
+        if (serve) {
+            // Compile the solvers before the first request, and before the cache could remember the warm-up graphs
+            SolverServer.warmUp(algorithms.values());
+            if (!threadsGiven) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+        }
+        ResultCache resultCache = null;
+        if (cache) {
+            // Unchanged graphs are answered from earlier results, across runs with --cache-dir
+            resultCache = new ResultCache(ResultCache.DEFAULT_MAX_EDGES, cacheDir == null ? null : Paths.get(cacheDir));
+            String suffix = forest ? "-forest" : "";
+            for (Map.Entry<String, MSTAlgorithm> entry : algorithms.entrySet()) {
+                entry.setValue(new CachingAlgorithm(entry.getKey() + suffix, entry.getValue(), resultCache));
+            }
+        }
+
+        ExecutorService executor;
+        try {
+            executor = virtual ? BatchSolver.virtualThreads() : BatchSolver.platformThreads(threads);
+        } catch (UnsupportedOperationException e) {
+            System.err.println("❌ ERROR: " + e.getMessage());
+            return;
+        }
+        BatchSolver solver = new BatchSolver(executor, algorithms, virtual ? 256 : threads * 4);
 
-            KruskalAlgorithm kruskal = new KruskalAlgorithm();
-            MSTResult kruskalResult = kruskal.findMST(graph);
+        if (serve) {
+            if (!serve(port, solver, threads)) {
+                executor.shutdownNow();
+            }
+            return;
+        }
+        ComparisonSummary summary = new ComparisonSummary();
+        int solved;
+        boolean writing = false;
 
-            PerformanceAnalyzer.printComparison(graph, primResult, kruskalResult);
+        // read -> solve -> write; graphs are solved concurrently but written in input order
+        try (Stream<Graph> graphs = openGraphs(inputFile);
+             ResultStreamWriter writer = new ResultStreamWriter(outputFile, compact)) {
+            writing = true;
+            solved = solver.solve(graphs.iterator(), (graph, results) -> {
+                if (results.containsKey("auto")) {
+                    PerformanceAnalyzer.printResult(graph, results.get("auto"));
+                    writer.writeResult(graph, results);
+                    return;
+                }
+                MSTResult primResult = results.get("prim");
+                MSTResult kruskalResult = results.get("kruskal");
 
-            Map<String, Object> graphResult = new HashMap<>();
-            graphResult.put("graph_id", graph.getId());
+                PerformanceAnalyzer.printComparison(graph, primResult, kruskalResult);
+                writer.writeResult(graph, results);
+                summary.record(primResult, kruskalResult);
+            });
+            writer.finish();
+        } catch (IOException | UncheckedIOException | IllegalArgumentException | IllegalStateException e) {
+            // The last two are graphs the reader rejects, e.g. an edge to an unknown vertex
+            System.err.println("❌ ERROR: Failed to process " + inputFile + ": " + e.getMessage());
+            System.err.println("Please check if the file exists and is properly formatted.");
+            if (writing) {
+                System.err.println("⚠️  " + outputFile + " holds only the graphs solved so far and is left unterminated");
+            }
+            return;
+        } finally {
+            executor.shutdownNow();
+        }
 
-            Map<String, Object> inputStats = new HashMap<>();
-            inputStats.put("vertices", graph.getVertexCount());
-            inputStats.put("edges", graph.getEdgeCount());
-            graphResult.put("input_stats", inputStats);
+        if (solved == 0) {
+            System.err.println("❌ ERROR: No graphs loaded from " + inputFile);
+            System.err.println("Please check if the file exists and is properly formatted.");
+            return;
+        }
 
-            graphResult.put("prim", formatResult(primResult));
-            graphResult.put("kruskal", formatResult(kruskalResult));
+        System.out.println("✅ Successfully processed " + solved + " graph(s)\n");
 
-            results.add(graphResult);
+        if (summary.getGraphCount() > 1) {
+            PerformanceAnalyzer.printOverallStatistics(summary);
         }
 
-        if (graphs.size() > 1) {
-            PerformanceAnalyzer.printOverallStatistics(results);
+        if (resultCache != null) {
+            PerformanceAnalyzer.printCacheStatistics(resultCache);
         }
 
         PerformanceAnalyzer.printRecommendations();
 
-        String outputFile = "src/main/resources/ass_3_output.json";
-        JSONWriter.writeResults(outputFile, results);
-
         System.out.println("✅ Program completed successfully!");
         System.out.println("📄 Results saved to: " + outputFile);
     }
 
-    private static Map<String, Object> formatResult(MSTResult result) {
-        Map<String, Object> formatted = new HashMap<>();
+    // The server's threads keep the process alive until it is stopped
+    private static boolean serve(int port, BatchSolver solver, int threads) {
+        SolverServer server;
+        try {
+            server = new SolverServer(port, solver, threads);
+        } catch (IOException e) {
+            System.err.println("❌ ERROR: Failed to listen on port " + port + ": " + e.getMessage());
+            return false;
+        }
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("🚀 Solving graphs POSTed to http://localhost:" + server.getPort() + "/solve"
+                + " (statistics at /stats)");
+        return true;
+    }
 
-        List<Map<String, Object>> edges = new ArrayList<>();
-        for (Edge edge : result.getMstEdges()) {
-            Map<String, Object> edgeMap = new HashMap<>();
-            edgeMap.put("from", edge.getFrom());
-            edgeMap.put("to", edge.getTo());
-            edgeMap.put("weight", edge.getWeight());
-            edges.add(edgeMap);
+    private static void runCalibration(String profileFile) {
+        System.out.println("⏱  Timing every engine on generated graphs, this takes a minute...");
+        SolverProfile profile = SolverProfile.calibrate(System.out);
+        try {
+            profile.save(profileFile);
+            System.out.println("✅ Solver profile saved to: " + profileFile);
+        } catch (IOException e) {
+            System.err.println("❌ ERROR: Failed to save " + profileFile + ": " + e.getMessage());
         }
+    }
 
-        formatted.put("mst_edges", edges);
-        formatted.put("total_cost", result.getTotalCost());
-        formatted.put("operations_count", result.getOperationsCount());
-        formatted.put("execution_time_ms",
-                Math.round(result.getExecutionTimeMs() * 100.0) / 100.0);
+    private static SolverProfile loadProfile(String profileFile) {
+        if (!new File(profileFile).exists()) {
+            System.out.println("ℹ️  No solver profile at " + profileFile + ", using built-in rules (run --calibrate)\n");
+            return SolverProfile.defaults();
+        }
+        try {
+            return SolverProfile.load(profileFile);
+        } catch (IOException e) {
+            System.err.println("❌ ERROR: " + e.getMessage() + ", using built-in rules");
+            return SolverProfile.defaults();
+        }
+    }
+
+    // Kruskal with an external merge sort: edges stay on disk, so graphs larger
+    // than the heap can be solved. Needs the binary format as input.
+    private static void solveExternal(String inputFile, String outputFile, boolean compact) {
+        if (!inputFile.endsWith(".bin")) {
+            System.err.println("❌ ERROR: --external needs a binary input; convert it first with --to-binary");
+            return;
+        }
 
-        return formatted;
+        ExternalKruskal kruskal = new ExternalKruskal();
+        boolean writing = false;
+        try (MappedGraphFile file = new MappedGraphFile(inputFile);
+             ResultStreamWriter writer = new ResultStreamWriter(outputFile, compact)) {
+            writing = true;
+            for (int i = 0; i < file.getGraphCount(); i++) {
+                MSTResult result = kruskal.findMST(file, i, new DetailedMetrics());
+                System.out.println("📊 Graph " + file.getGraphId(i) + ": " + file.getVertexCount(i) + " vertices, "
+                        + file.getEdgeCount(i) + " edges -> cost " + result.getTotalCost() + " in "
+                        + String.format("%.2f", result.getExecutionTimeMs()) + " ms");
+                writer.writeResult(file.getGraphId(i), file.getVertexCount(i), file.getEdgeCount(i),
+                        Collections.singletonMap("kruskal", result));
+            }
+            writer.finish();
+            System.out.println("\n✅ Successfully processed " + file.getGraphCount() + " graph(s)");
+            System.out.println("📄 Results saved to: " + outputFile);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ ERROR: Failed to process " + inputFile + ": " + e.getMessage());
+            if (writing) {
+                System.err.println("⚠️  " + outputFile + " holds only the graphs solved so far and is left unterminated");
+            }
+        }
+    }
+
+    private static Stream<Graph> openGraphs(String inputFile) throws IOException {
+        if (inputFile.endsWith(".bin")) {
+            return MappedGraphFile.streamGraphs(inputFile);
+        }
+        return JSONReader.streamGraphs(inputFile);
     }
 }
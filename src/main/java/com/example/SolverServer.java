@@ -0,0 +1,233 @@
+package com.example;
+
+import algorithm.BatchSolver;
+import algorithm.MSTAlgorithm;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.CompactGraph;
+import model.Graph;
+import util.GraphStreamReader;
+import util.ResultStreamWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Keeps the solvers resident behind a local HTTP endpoint, so repeated requests
+// skip JVM startup and run on already compiled code.
+//   POST /solve   body in the ass_3_input.json schema; the response is the
+//                 usual {"results": [...]} plus "latency_ms" for the request.
+//                 ?pretty indents it.
+//   GET  /stats   request count, errors and latency percentiles so far
+// Listens on the loopback interface only.
+public class SolverServer {
+    public static final int DEFAULT_PORT = 8080;
+
+    // Latencies kept for the percentiles in /stats
+    private static final int LATENCY_WINDOW = 1 << 12;
+
+    private final BatchSolver solver;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+
+    private final double[] recentMs = new double[LATENCY_WINDOW];
+    private long requests;
+    private long errors;
+    private long graphs;
+    private double totalMs;
+    private double maxMs;
+
+    // handlerThreads bounds the requests parsed and answered at once; solving
+    // happens on the solver's own executor
+    public SolverServer(int port, BatchSolver solver, int handlerThreads) throws IOException {
+        this.solver = solver;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.handlers = Executors.newFixedThreadPool(Math.max(1, handlerThreads));
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    public int getPort() { return server.getAddress().getPort(); }
+
+    // Runs every algorithm on a few generated graphs so the first real
+    // requests do not pay for class loading and JIT compilation
+    public static void warmUp(Collection<MSTAlgorithm> algorithms) {
+        CompactGraph[] graphs = {
+                GraphGenerator.erdosRenyi(0, 2_000, 8_000, WeightDistribution.UNIFORM, 1),
+                GraphGenerator.erdosRenyi(0, 200, 8_000, WeightDistribution.SMALL_RANGE, 2),
+                GraphGenerator.grid(0, 30, 30, WeightDistribution.DISTANCE, 3)};
+        for (int round = 0; round < 20; round++) {
+            for (MSTAlgorithm algorithm : algorithms) {
+                for (CompactGraph graph : graphs) {
+                    algorithm.findMST(graph);
+                }
+            }
+        }
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendError(exchange, 405, "Use POST with a graphs document");
+                return;
+            }
+            long startTime = System.nanoTime();
+
+            List<Graph> batch = new ArrayList<>();
+            try (GraphStreamReader reader = new GraphStreamReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                reader.forEachRemaining(batch::add);
+            } catch (IOException | UncheckedIOException | IllegalStateException | IllegalArgumentException e) {
+                sendError(exchange, 400, "Malformed graphs document: " + e.getMessage());
+                return;
+            }
+            long parsed = System.nanoTime();
+
+            boolean pretty = queryParameters(exchange).containsKey("pretty");
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (ResultStreamWriter writer = new ResultStreamWriter(
+                    new OutputStreamWriter(body, StandardCharsets.UTF_8), !pretty)) {
+                solver.solve(batch.iterator(), writer::writeResult);
+                long solved = System.nanoTime();
+
+                Map<String, Double> latency = new LinkedHashMap<>();
+                latency.put("read", millis(parsed - startTime));
+                latency.put("solve", millis(solved - parsed));
+                latency.put("total", millis(solved - startTime));
+                writer.writeSummary("latency_ms", latency);
+                writer.finish();
+                record(batch.size(), millis(solved - startTime));
+            }
+            send(exchange, 200, body.toByteArray());
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, "Failed to solve: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+                synchronized (this) {
+                    writer.beginObject();
+                    writer.name("requests").value(requests);
+                    writer.name("errors").value(errors);
+                    writer.name("graphs").value(graphs);
+                    writer.name("latency_ms");
+                    writer.beginObject();
+                    writer.name("mean").value(requests == 0 ? 0.0 : round(totalMs / requests));
+                    writer.name("p50").value(round(percentile(0.50)));
+                    writer.name("p99").value(round(percentile(0.99)));
+                    writer.name("max").value(round(maxMs));
+                    writer.endObject();
+                    writer.endObject();
+                }
+            }
+            send(exchange, 200, body.toByteArray());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Decoded name=value pairs of the query string; a bare name maps to ""
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private synchronized void record(int graphCount, double latencyMs) {
+        recentMs[(int) (requests % LATENCY_WINDOW)] = latencyMs;
+        requests++;
+        graphs += graphCount;
+        totalMs += latencyMs;
+        maxMs = Math.max(maxMs, latencyMs);
+    }
+
+    // Over the latest LATENCY_WINDOW requests
+    private double percentile(double fraction) {
+        int count = (int) Math.min(requests, LATENCY_WINDOW);
+        if (count == 0) {
+            return 0.0;
+        }
+        double[] sorted = Arrays.copyOf(recentMs, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) Math.ceil(fraction * count) - 1)];
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        synchronized (this) {
+            errors++;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            writer.name("error").value(message);
+            writer.endObject();
+        }
+        send(exchange, status, body.toByteArray());
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double ms) {
+        return Math.round(ms * 1000.0) / 1000.0;
+    }
+}
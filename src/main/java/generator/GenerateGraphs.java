@@ -0,0 +1,60 @@
+package generator;
+
+import model.*;
+import util.BinaryGraphWriter;
+import util.GraphJsonWriter;
+
+import java.io.IOException;
+
+public class GenerateGraphs {
+    // Usage: GenerateGraphs <model> <vertices> <averageDegree> <output.json|output.bin>
+    //                       [count] [seed] [weights]
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: GenerateGraphs <model> <vertices> <averageDegree> "
+                    + "<output.json|output.bin> [count] [seed] [weights]");
+            System.err.println("Models: ERDOS_RENYI, GRID, GEOMETRIC, COMPLETE, POWER_LAW");
+            System.err.println("Weights: UNIFORM, SMALL_RANGE, EXPONENTIAL, DISTANCE");
+            return;
+        }
+
+        GraphGenerator.Model model = GraphGenerator.Model.valueOf(args[0].toUpperCase());
+        int vertices = Integer.parseInt(args[1]);
+        int averageDegree = Integer.parseInt(args[2]);
+        String outputFile = args[3];
+        int count = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+        WeightDistribution weights = args.length > 6
+                ? WeightDistribution.valueOf(args[6].toUpperCase()) : WeightDistribution.DISTANCE;
+
+        long edges = 0;
+        try {
+            if (outputFile.endsWith(".bin")) {
+                try (BinaryGraphWriter writer = new BinaryGraphWriter(outputFile)) {
+                    for (int i = 0; i < count; i++) {
+                        CompactGraph graph = model.generate(i + 1, vertices, averageDegree, weights, seed + i);
+                        writer.write(graph);
+                        edges += graph.getEdgeCount();
+                    }
+                }
+            } else {
+                try (GraphJsonWriter writer = new GraphJsonWriter(outputFile, true)) {
+                    for (int i = 0; i < count; i++) {
+                        CompactGraph graph = model.generate(i + 1, vertices, averageDegree, weights, seed + i);
+                        writer.write(graph);
+                        edges += graph.getEdgeCount();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ ERROR: Failed to write " + outputFile + ": " + e.getMessage());
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("❌ ERROR: " + e.getMessage());
+            return;
+        }
+
+        System.out.println("✅ Generated " + count + " " + model + " graph(s) with " + edges
+                + " edges in total to " + outputFile);
+    }
+}
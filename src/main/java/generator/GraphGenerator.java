@@ -0,0 +1,246 @@
+package generator;
+
+import model.*;
+import structure.IntList;
+import java.util.*;
+
+// Seeded synthetic graphs for load and scaling tests. The same arguments
+// always produce the same graph. Edges are written straight into primitive
+// buffers, so tens of millions of edges cost 12 bytes each plus the names.
+public class GraphGenerator {
+    public enum Model {
+        // G(n, m): a random spanning tree plus uniformly random extra edges
+        ERDOS_RENYI,
+        // Road-like lattice with missing blocks and a few diagonal shortcuts
+        GRID,
+        // Random points in a square, joined when closer than a radius
+        GEOMETRIC,
+        // Every pair of vertices
+        COMPLETE,
+        // Barabási–Albert preferential attachment: a few hubs, many leaves
+        POWER_LAW;
+
+        public CompactGraph generate(int id, int vertices, int averageDegree, WeightDistribution weights,
+                                     long seed) {
+            switch (this) {
+                case GRID:
+                    int rows = Math.max(1, (int) Math.sqrt(vertices));
+                    return grid(id, rows, Math.max(1, vertices / rows), weights, seed);
+                case GEOMETRIC:
+                    return geometric(id, vertices, averageDegree, weights, seed);
+                case COMPLETE:
+                    return complete(id, vertices, weights, seed);
+                case POWER_LAW:
+                    return powerLaw(id, vertices, Math.max(1, averageDegree / 2), weights, seed);
+                default:
+                    return erdosRenyi(id, vertices, (long) vertices * averageDegree / 2, weights, seed);
+            }
+        }
+    }
+
+    // Side of the square the spatial models live in, in metres
+    private static final double AREA_SIDE = 1_000_000.0;
+    private static final int BLOCK_LENGTH = 1000;
+
+    public static CompactGraph erdosRenyi(int id, int vertices, long edges, WeightDistribution weights,
+                                          long seed) {
+        Random random = new Random(seed);
+        long target = vertices < 2 ? 0 : Math.max(vertices - 1L, edges);
+        if (target > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges requested: " + target);
+        }
+        EdgeBuffer buffer = new EdgeBuffer(target);
+
+        for (int v = 1; v < vertices; v++) {
+            buffer.add(random.nextInt(v), v, weights.next(random));
+        }
+        while (buffer.size() < target) {
+            int a = random.nextInt(vertices);
+            int b = random.nextInt(vertices);
+            if (a != b) {
+                buffer.add(a, b, weights.next(random));
+            }
+        }
+        return buffer.build(id, vertices);
+    }
+
+    // Horizontal streets are complete and the first column is a through road,
+    // so the lattice stays connected while 15% of the other vertical blocks
+    // are missing and 5% of the blocks get a diagonal
+    public static CompactGraph grid(int id, int rows, int cols, WeightDistribution weights, long seed) {
+        Random random = new Random(seed);
+        EdgeBuffer buffer = new EdgeBuffer(2L * rows * cols);
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int v = r * cols + c;
+                if (c + 1 < cols) {
+                    buffer.add(v, v + 1, spatialWeight(random, weights, BLOCK_LENGTH));
+                }
+                if (r + 1 < rows && (c == 0 || random.nextDouble() < 0.85)) {
+                    buffer.add(v, v + cols, spatialWeight(random, weights, BLOCK_LENGTH));
+                }
+                if (r + 1 < rows && c + 1 < cols && random.nextDouble() < 0.05) {
+                    buffer.add(v, v + cols + 1, spatialWeight(random, weights, BLOCK_LENGTH * Math.sqrt(2)));
+                }
+            }
+        }
+        return buffer.build(id, rows * cols);
+    }
+
+    // Random geometric graph with the radius chosen for the requested average
+    // degree. Points are bucketed into cells of at least that radius, so only
+    // neighbouring cells are compared. Sparse instances may be disconnected.
+    public static CompactGraph geometric(int id, int vertices, int averageDegree, WeightDistribution weights,
+                                         long seed) {
+        if (averageDegree < 1) {
+            throw new IllegalArgumentException("Average degree must be at least 1: " + averageDegree);
+        }
+        Random random = new Random(seed);
+        double[] x = new double[vertices];
+        double[] y = new double[vertices];
+        for (int v = 0; v < vertices; v++) {
+            x[v] = random.nextDouble();
+            y[v] = random.nextDouble();
+        }
+
+        double radius = Math.sqrt(averageDegree / (Math.PI * Math.max(1, vertices)));
+        // No more cells than points: a low degree would otherwise make the
+        // grid far larger than the graph
+        int cells = (int) Math.max(1, Math.min(Math.sqrt(vertices), Math.floor(1.0 / radius)));
+
+        int[] cellOf = new int[vertices];
+        int[] cellStart = new int[cells * cells + 1];
+        for (int v = 0; v < vertices; v++) {
+            int cx = Math.min(cells - 1, (int) (x[v] * cells));
+            int cy = Math.min(cells - 1, (int) (y[v] * cells));
+            cellOf[v] = cy * cells + cx;
+            cellStart[cellOf[v] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = Arrays.copyOf(cellStart, cells * cells);
+        int[] members = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            members[next[cellOf[v]]++] = v;
+        }
+
+        EdgeBuffer buffer = new EdgeBuffer((long) vertices * averageDegree / 2);
+        double radiusSquared = radius * radius;
+        for (int v = 0; v < vertices; v++) {
+            int cx = cellOf[v] % cells;
+            int cy = cellOf[v] / cells;
+            for (int ny = Math.max(0, cy - 1); ny <= Math.min(cells - 1, cy + 1); ny++) {
+                for (int nx = Math.max(0, cx - 1); nx <= Math.min(cells - 1, cx + 1); nx++) {
+                    int cell = ny * cells + nx;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int u = members[i];
+                        if (u <= v) {
+                            continue;
+                        }
+                        double dx = x[u] - x[v];
+                        double dy = y[u] - y[v];
+                        double distanceSquared = dx * dx + dy * dy;
+                        if (distanceSquared <= radiusSquared) {
+                            double length = Math.sqrt(distanceSquared) * AREA_SIDE;
+                            buffer.add(v, u, spatialWeight(random, weights, length));
+                        }
+                    }
+                }
+            }
+        }
+        return buffer.build(id, vertices);
+    }
+
+    public static CompactGraph complete(int id, int vertices, WeightDistribution weights, long seed) {
+        long edges = (long) vertices * (vertices - 1) / 2;
+        if (edges > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A complete graph on " + vertices + " vertices has too many edges");
+        }
+
+        Random random = new Random(seed);
+        EdgeBuffer buffer = new EdgeBuffer(edges);
+        for (int a = 0; a < vertices; a++) {
+            for (int b = a + 1; b < vertices; b++) {
+                buffer.add(a, b, weights.next(random));
+            }
+        }
+        return buffer.build(id, vertices);
+    }
+
+    // Each new vertex attaches to edgesPerVertex distinct earlier vertices
+    // picked proportionally to their degree (via the list of edge endpoints)
+    public static CompactGraph powerLaw(int id, int vertices, int edgesPerVertex, WeightDistribution weights,
+                                        long seed) {
+        Random random = new Random(seed);
+        EdgeBuffer buffer = new EdgeBuffer((long) vertices * edgesPerVertex);
+        IntList endpoints = new IntList((int) Math.min(Integer.MAX_VALUE - 8, 2L * vertices * edgesPerVertex));
+        int[] picked = new int[edgesPerVertex];
+
+        for (int v = 1; v < vertices; v++) {
+            int links = Math.min(v, edgesPerVertex);
+            int count = 0;
+            for (int attempt = 0; count < links && attempt < 4 * links; attempt++) {
+                int target = endpoints.isEmpty() ? 0 : endpoints.get(random.nextInt(endpoints.size()));
+                if (!contains(picked, count, target)) {
+                    picked[count++] = target;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                buffer.add(picked[i], v, weights.next(random));
+                endpoints.add(picked[i]);
+                endpoints.add(v);
+            }
+        }
+        return buffer.build(id, vertices);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Lengths get a +-20% detour factor so ties are rare
+    private static int spatialWeight(Random random, WeightDistribution weights, double length) {
+        if (weights != WeightDistribution.DISTANCE) {
+            return weights.next(random);
+        }
+        return (int) Math.round(length * (0.8 + 0.4 * random.nextDouble()));
+    }
+
+    private static class EdgeBuffer {
+        private final IntList from;
+        private final IntList to;
+        private final IntList weight;
+
+        EdgeBuffer(long expected) {
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, expected));
+            from = new IntList(capacity);
+            to = new IntList(capacity);
+            weight = new IntList(capacity);
+        }
+
+        void add(int a, int b, int w) {
+            from.add(a);
+            to.add(b);
+            weight.add(w);
+        }
+
+        int size() {
+            return from.size();
+        }
+
+        CompactGraph build(int id, int vertices) {
+            String[] names = new String[vertices];
+            for (int v = 0; v < vertices; v++) {
+                names[v] = "v" + v;
+            }
+            return new CompactGraph(id, names, from.buffer(), to.buffer(), weight.buffer(), from.size());
+        }
+    }
+}
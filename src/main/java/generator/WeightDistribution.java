@@ -0,0 +1,26 @@
+package generator;
+
+import java.util.Random;
+
+public enum WeightDistribution {
+    // Uniform in [0, 1_000_000): few ties
+    UNIFORM,
+    // Uniform in [0, 100): lots of ties
+    SMALL_RANGE,
+    // Exponential with mean 1000: mostly light edges, a long heavy tail
+    EXPONENTIAL,
+    // Edge length in metres for the spatial models (GRID, GEOMETRIC);
+    // the other models fall back to UNIFORM
+    DISTANCE;
+
+    int next(Random random) {
+        switch (this) {
+            case SMALL_RANGE:
+                return random.nextInt(100);
+            case EXPONENTIAL:
+                return (int) Math.min(Integer.MAX_VALUE - 1, -1000.0 * Math.log(1.0 - random.nextDouble()));
+            default:
+                return random.nextInt(1_000_000);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.*;
+
+public class CompactGraph {
+    private final int id;
+    private final String[] names;
+    private final int edgeCount;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+
+    private Map<String, Integer> index;
+
+    // CSR adjacency, built on first use: the neighbours of v are the slots
+    // offsets[v] .. offsets[v + 1] - 1 of targets/weights/edgeIds
+    private int[] offsets;
+    private int[] targets;
+    private int[] weights;
+    private int[] edgeIds;
+
+    public CompactGraph(int id, String[] names, int[] edgeFrom, int[] edgeTo, int[] edgeWeight, int edgeCount) {
+        this.id = id;
+        this.names = names;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+        this.edgeCount = edgeCount;
+    }
+
+    public static CompactGraph fromGraph(Graph graph) {
+        String[] names = graph.getNodes().toArray(new String[0]);
+        Map<String, Integer> index = buildIndex(names);
+
+        List<Edge> edges = graph.getEdges();
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+
+        for (int e = 0; e < m; e++) {
+            Edge edge = edges.get(e);
+            from[e] = lookup(index, edge.getFrom(), edge, graph.getId());
+            to[e] = lookup(index, edge.getTo(), edge, graph.getId());
+            weight[e] = edge.getWeight();
+        }
+
+        CompactGraph compact = new CompactGraph(graph.getId(), names, from, to, weight, m);
+        compact.index = index;
+        return compact;
+    }
+
+    private static int lookup(Map<String, Integer> index, String name, Edge edge, int graphId) {
+        Integer id = index.get(name);
+        if (id == null) {
+            throw new IllegalArgumentException("Edge " + edge + " of graph " + graphId
+                    + " references unknown vertex " + name);
+        }
+        return id;
+    }
+
+    private static Map<String, Integer> buildIndex(String[] names) {
+        Map<String, Integer> index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            index.put(names[i], i);
+        }
+        return index;
+    }
+
+    private synchronized void ensureAdjacency() {
+        if (offsets != null) {
+            return;
+        }
+
+        int n = names.length;
+        int[] off = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            off[edgeFrom[e] + 1]++;
+            off[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            off[v + 1] += off[v];
+        }
+
+        int[] next = Arrays.copyOf(off, n);
+        int[] tgt = new int[2 * edgeCount];
+        int[] wgt = new int[2 * edgeCount];
+        int[] ids = new int[2 * edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            int slot = next[edgeFrom[e]]++;
+            tgt[slot] = edgeTo[e];
+            wgt[slot] = edgeWeight[e];
+            ids[slot] = e;
+
+            slot = next[edgeTo[e]]++;
+            tgt[slot] = edgeFrom[e];
+            wgt[slot] = edgeWeight[e];
+            ids[slot] = e;
+        }
+
+        targets = tgt;
+        weights = wgt;
+        edgeIds = ids;
+        offsets = off;
+    }
+
+    public synchronized int indexOf(String name) {
+        if (index == null) {
+            index = buildIndex(names);
+        }
+        Integer id = index.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public Graph toGraph() {
+        return new Graph(this);
+    }
+
+    public List<String> nodeList() {
+        return Collections.unmodifiableList(Arrays.asList(names));
+    }
+
+    public List<Edge> edgeList() {
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int e = 0; e < edgeCount; e++) {
+            edges.add(new Edge(names[edgeFrom[e]], names[edgeTo[e]], edgeWeight[e]));
+        }
+        return edges;
+    }
+
+    public int getId() { return id; }
+    public String[] getNames() { return names; }
+    public String getName(int vertex) { return names[vertex]; }
+    public int getVertexCount() { return names.length; }
+    public int getEdgeCount() { return edgeCount; }
+
+    // Edge list arrays may be longer than getEdgeCount()
+    public int[] getEdgeFrom() { return edgeFrom; }
+    public int[] getEdgeTo() { return edgeTo; }
+    public int[] getEdgeWeight() { return edgeWeight; }
+
+    public int[] getOffsets() { ensureAdjacency(); return offsets; }
+    public int[] getTargets() { ensureAdjacency(); return targets; }
+    public int[] getWeights() { ensureAdjacency(); return weights; }
+    public int[] getEdgeIds() { ensureAdjacency(); return edgeIds; }
+}
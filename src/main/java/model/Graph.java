@@ -7,32 +7,81 @@ public class Graph {
     private List<String> nodes;
     private List<Edge> edges;
     private Map<String, List<Edge>> adjacencyList;
+    private CompactGraph compact;
 
     public Graph(int id, List<String> nodes, List<Edge> edges) {
         this.id = id;
         this.nodes = nodes;
         this.edges = edges;
-        buildAdjacencyList();
+    }
+
+    // View over a compact graph; nodes, edges and the adjacency list are
+    // only materialized if somebody asks for them
+    public Graph(CompactGraph compact) {
+        this.id = compact.getId();
+        this.compact = compact;
     }
 
     private void buildAdjacencyList() {
         adjacencyList = new HashMap<>();
-        for (String node : nodes) {
+        for (String node : getNodes()) {
             adjacencyList.put(node, new ArrayList<>());
         }
 
-        for (Edge edge : edges) {
-            adjacencyList.get(edge.getFrom()).add(edge);
-            adjacencyList.get(edge.getTo()).add(
+        for (Edge edge : getEdges()) {
+            neighbours(edge.getFrom(), edge).add(edge);
+            neighbours(edge.getTo(), edge).add(
                     new Edge(edge.getTo(), edge.getFrom(), edge.getWeight())
             );
         }
     }
 
+    // Same check and message as CompactGraph.fromGraph; the half-built list is dropped
+    private List<Edge> neighbours(String name, Edge edge) {
+        List<Edge> list = adjacencyList.get(name);
+        if (list == null) {
+            adjacencyList = null;
+            throw new IllegalArgumentException("Edge " + edge + " of graph " + id
+                    + " references unknown vertex " + name);
+        }
+        return list;
+    }
+
+    public synchronized CompactGraph toCompact() {
+        if (compact == null) {
+            compact = CompactGraph.fromGraph(this);
+        }
+        return compact;
+    }
+
     public int getId() { return id; }
-    public List<String> getNodes() { return nodes; }
-    public List<Edge> getEdges() { return edges; }
-    public Map<String, List<Edge>> getAdjacencyList() { return adjacencyList; }
-    public int getVertexCount() { return nodes.size(); }
-    public int getEdgeCount() { return edges.size(); }
+
+    public synchronized List<String> getNodes() {
+        if (nodes == null) {
+            nodes = compact.nodeList();
+        }
+        return nodes;
+    }
+
+    public synchronized List<Edge> getEdges() {
+        if (edges == null) {
+            edges = compact.edgeList();
+        }
+        return edges;
+    }
+
+    public synchronized Map<String, List<Edge>> getAdjacencyList() {
+        if (adjacencyList == null) {
+            buildAdjacencyList();
+        }
+        return adjacencyList;
+    }
+
+    public int getVertexCount() {
+        return nodes != null ? nodes.size() : compact.getVertexCount();
+    }
+
+    public int getEdgeCount() {
+        return edges != null ? edges.size() : compact.getEdgeCount();
+    }
 }
@@ -1,23 +1,69 @@
 package model;
 
+import analysis.Metrics;
+import java.util.Collections;
 import java.util.List;
 
 public class MSTResult {
+    private TreeEdges tree;
+    // Materialized from tree on the first getMstEdges()
     private List<Edge> mstEdges;
-    private int totalCost;
-    private long operationsCount;
+    private long totalCost;
+    private Metrics metrics;
     private double executionTimeMs;
+    private List<MSTResult> components;
+    private String engine;
+    private boolean cached;
 
-    public MSTResult(List<Edge> mstEdges, int totalCost,
-                     long operationsCount, double executionTimeMs) {
-        this.mstEdges = mstEdges;
+    public MSTResult(TreeEdges tree, long totalCost,
+                     Metrics metrics, double executionTimeMs) {
+        this(tree, totalCost, metrics, executionTimeMs, Collections.emptyList(), null);
+    }
+
+    // components holds one result per connected component of a spanning
+    // forest run, whose edges together make up the tree
+    public MSTResult(TreeEdges tree, long totalCost,
+                     Metrics metrics, double executionTimeMs, List<MSTResult> components) {
+        this(tree, totalCost, metrics, executionTimeMs, components, null);
+    }
+
+    // engine names the Engine an AdaptiveSolver picked, null otherwise; a
+    // forest lists the engines of its components, comma-separated
+    public MSTResult(TreeEdges tree, long totalCost,
+                     Metrics metrics, double executionTimeMs, List<MSTResult> components, String engine) {
+        this.tree = tree;
         this.totalCost = totalCost;
-        this.operationsCount = operationsCount;
+        this.metrics = metrics;
         this.executionTimeMs = executionTimeMs;
+        this.components = components;
+        this.engine = engine;
+    }
+
+    // The same result as served from a cache: the time is that of the lookup,
+    // so it is flagged and left out of timing comparisons
+    public MSTResult fromCache(double lookupMs) {
+        MSTResult copy = new MSTResult(tree, totalCost, metrics, lookupMs, components, engine);
+        copy.cached = true;
+        return copy;
+    }
+
+    public TreeEdges getTree() { return tree; }
+    public int getEdgeCount() { return tree.size(); }
+
+    public synchronized List<Edge> getMstEdges() {
+        if (mstEdges == null) {
+            mstEdges = tree.toEdgeList();
+        }
+        return mstEdges;
     }
 
-    public List<Edge> getMstEdges() { return mstEdges; }
-    public int getTotalCost() { return totalCost; }
-    public long getOperationsCount() { return operationsCount; }
+    public long getTotalCost() { return totalCost; }
+    public Metrics getMetrics() { return metrics; }
+    // Sum of the metrics counters; 0 when the run was not instrumented
+    public long getOperationsCount() { return metrics.getTotalOperations(); }
     public double getExecutionTimeMs() { return executionTimeMs; }
+    // Empty unless the result came from SpanningForestAlgorithm
+    public List<MSTResult> getComponents() { return components; }
+    public String getEngine() { return engine; }
+    public boolean isCached() { return cached; }
 }
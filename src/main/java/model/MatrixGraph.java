@@ -0,0 +1,75 @@
+package model;
+
+import java.util.*;
+
+// Adjacency-matrix form for dense graphs. Weights are stored row-major in a
+// single int[], NO_EDGE marks absent pairs and parallel edges keep the
+// cheapest weight. An edge weighing Integer.MAX_VALUE cannot be represented.
+public class MatrixGraph {
+    public static final int NO_EDGE = Integer.MAX_VALUE;
+
+    private final int id;
+    private final String[] names;
+    private final int[] weights;
+    private final int edgeCount;
+
+    private MatrixGraph(int id, String[] names, int[] weights, int edgeCount) {
+        this.id = id;
+        this.names = names;
+        this.weights = weights;
+        this.edgeCount = edgeCount;
+    }
+
+    public static MatrixGraph fromGraph(Graph graph) {
+        return fromCompact(graph.toCompact());
+    }
+
+    public static MatrixGraph fromCompact(CompactGraph graph) {
+        int n = graph.getVertexCount();
+        if ((long) n * n > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Graph " + graph.getId() + " has too many vertices ("
+                    + n + ") for an adjacency matrix");
+        }
+
+        int[] weights = new int[n * n];
+        Arrays.fill(weights, NO_EDGE);
+
+        int[] edgeFrom = graph.getEdgeFrom();
+        int[] edgeTo = graph.getEdgeTo();
+        int[] edgeWeight = graph.getEdgeWeight();
+        int edgeCount = 0;
+
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            int from = edgeFrom[e];
+            int to = edgeTo[e];
+            if (from == to) {
+                continue;
+            }
+            int cell = from * n + to;
+            if (weights[cell] == NO_EDGE) {
+                edgeCount++;
+            }
+            if (edgeWeight[e] < weights[cell]) {
+                weights[cell] = edgeWeight[e];
+                weights[to * n + from] = edgeWeight[e];
+            }
+        }
+
+        return new MatrixGraph(graph.getId(), graph.getNames(), weights, edgeCount);
+    }
+
+    public int getWeight(int from, int to) {
+        return weights[from * names.length + to];
+    }
+
+    public boolean hasEdge(int from, int to) {
+        return getWeight(from, to) != NO_EDGE;
+    }
+
+    public int getId() { return id; }
+    public String[] getNames() { return names; }
+    public String getName(int vertex) { return names[vertex]; }
+    public int getVertexCount() { return names.length; }
+    public int getEdgeCount() { return edgeCount; }
+    public int[] getWeights() { return weights; }
+}
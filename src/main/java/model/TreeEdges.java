@@ -0,0 +1,62 @@
+package model;
+
+import java.util.*;
+
+// Edges of a spanning tree or forest as parallel int arrays: endpoints are
+// vertex ids into the solved graph's name table, which is shared rather than
+// copied. Solvers append to it and writers read it without creating Edge
+// objects; toEdge() and toEdgeList() build them for callers that want them.
+public class TreeEdges {
+    private static final String[] NO_NAMES = new String[0];
+
+    private final String[] names;
+    private int[] from;
+    private int[] to;
+    private int[] weight;
+    private int size;
+
+    public TreeEdges(String[] names, int capacity) {
+        this.names = names;
+        this.from = new int[Math.max(0, capacity)];
+        this.to = new int[Math.max(0, capacity)];
+        this.weight = new int[Math.max(0, capacity)];
+    }
+
+    // A new instance on every call, since trees are appended to
+    public static TreeEdges empty() {
+        return new TreeEdges(NO_NAMES, 0);
+    }
+
+    public void add(int u, int v, int w) {
+        if (size == from.length) {
+            int capacity = Math.max(4, size * 2);
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            weight = Arrays.copyOf(weight, capacity);
+        }
+        from[size] = u;
+        to[size] = v;
+        weight[size] = w;
+        size++;
+    }
+
+    public int size() { return size; }
+    public String[] getNames() { return names; }
+    public int getFrom(int i) { return from[i]; }
+    public int getTo(int i) { return to[i]; }
+    public int getWeight(int i) { return weight[i]; }
+    public String getFromName(int i) { return names[from[i]]; }
+    public String getToName(int i) { return names[to[i]]; }
+
+    public Edge toEdge(int i) {
+        return new Edge(names[from[i]], names[to[i]], weight[i]);
+    }
+
+    public List<Edge> toEdgeList() {
+        List<Edge> edges = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            edges.add(toEdge(i));
+        }
+        return edges;
+    }
+}
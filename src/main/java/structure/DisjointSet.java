@@ -0,0 +1,78 @@
+package structure;
+
+// Union-find over vertex ids 0..n-1 with union by rank and iterative path
+// halving. reset() reinitializes in place so one instance can serve many runs.
+public class DisjointSet {
+    private final int[] parent;
+    private final byte[] rank;
+    private final int[] size;
+    private int count;
+
+    public DisjointSet(int n) {
+        parent = new int[n];
+        rank = new byte[n];
+        size = new int[n];
+        reset();
+    }
+
+    public void reset() {
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+            size[i] = 1;
+        }
+        count = parent.length;
+    }
+
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]]; // Path halving
+            x = parent[x];
+        }
+        return x;
+    }
+
+    // Number of parent links between x and its root; does not compress
+    public int depth(int x) {
+        int hops = 0;
+        while (parent[x] != x) {
+            x = parent[x];
+            hops++;
+        }
+        return hops;
+    }
+
+    // Returns false if a and b were already in the same set
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        linkRoots(rootA, rootB);
+        return true;
+    }
+
+    // Links two distinct roots as returned by find() and returns the new root
+    public int linkRoots(int rootA, int rootB) {
+        if (rank[rootA] < rank[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        } else if (rank[rootA] == rank[rootB]) {
+            rank[rootA]++;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        count--;
+        return rootA;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    public int sizeOf(int x) { return size[find(x)]; }
+    public int getSetCount() { return count; }
+    public int getElementCount() { return parent.length; }
+}
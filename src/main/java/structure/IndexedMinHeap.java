@@ -0,0 +1,99 @@
+package structure;
+
+import java.util.Arrays;
+
+// Binary min-heap over ids 0..n-1 with int keys and decrease-key. Each id is
+// in the heap at most once, so the heap never grows beyond n entries.
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final int[] keys;
+    private int size;
+
+    public IndexedMinHeap(int n) {
+        heap = new int[n];
+        position = new int[n];
+        keys = new int[n];
+        Arrays.fill(position, -1);
+    }
+
+    public void insert(int id, int key) {
+        if (position[id] >= 0) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, int key) {
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[id]);
+        }
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int top = heap[0];
+        position[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        int key = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    public boolean contains(int id) { return position[id] >= 0; }
+    public int keyOf(int id) { return keys[id]; }
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+}
@@ -0,0 +1,57 @@
+package structure;
+
+import java.util.Arrays;
+
+// Growable list of primitive ints
+public class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(capacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        values[index] = value;
+    }
+
+    // Removes one occurrence of value by moving the last element into its
+    // slot, so order is not kept; returns false if value is absent
+    public boolean removeUnordered(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                values[i] = values[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Backing array, valid up to size(); no copy is made
+    public int[] buffer() { return values; }
+    public int[] toArray() { return Arrays.copyOf(values, size); }
+    public void clear() { size = 0; }
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+}
@@ -0,0 +1,67 @@
+package structure;
+
+import java.util.Arrays;
+
+// Binary min-heap of primitive longs. Callers pack a priority into the high
+// bits and a payload into the low bits to avoid allocating heap nodes.
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap() {
+        this(16);
+    }
+
+    public LongMinHeap(int capacity) {
+        heap = new long[Math.max(capacity, 1)];
+    }
+
+    public void push(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public long peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public long pop() {
+        long top = peek();
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+
+    public void clear() { size = 0; }
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+}
@@ -0,0 +1,36 @@
+package util;
+
+import java.nio.ByteOrder;
+
+// Layout of the binary graph file (all values little-endian ints):
+//
+//   header:  MAGIC, VERSION, graph count, reserved
+//   per graph, back to back:
+//     id, vertex count V, edge count E, name byte count B
+//     name offsets  int[V + 1]   into the UTF-8 name bytes
+//     name bytes    byte[B]      padded with zeros to a multiple of 4
+//     from          int[E]
+//     to            int[E]
+//     weight        int[E]
+//
+// Every section is int-aligned, so the edge arrays can be read straight out
+// of a mapped buffer with a single bulk copy each.
+final class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D; // "MSTG"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int GRAPH_HEADER_BYTES = 16;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryGraphFormat() {
+    }
+
+    static int padded(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    // Size of a graph section including its header
+    static long sectionBytes(int vertexCount, int edgeCount, int nameBytes) {
+        return GRAPH_HEADER_BYTES + 4L * (vertexCount + 1) + padded(nameBytes) + 12L * edgeCount;
+    }
+}
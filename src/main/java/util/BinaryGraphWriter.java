@@ -0,0 +1,134 @@
+package util;
+
+import model.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.stream.Stream;
+
+// Appends graphs to a file in the BinaryGraphFormat layout
+public class BinaryGraphWriter implements Closeable {
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_BYTES).order(BinaryGraphFormat.ORDER);
+    private int graphCount;
+
+    public BinaryGraphWriter(String filename) throws IOException {
+        channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        chunk.putInt(BinaryGraphFormat.MAGIC);
+        chunk.putInt(BinaryGraphFormat.VERSION);
+        chunk.putInt(0); // graph count, patched on close
+        chunk.putInt(0);
+        flushChunk();
+    }
+
+    // Converts an ass_3_input.json style file and returns the number of graphs written
+    public static int convertJson(String jsonFile, String binaryFile) throws IOException {
+        try (Stream<Graph> graphs = JSONReader.streamGraphs(jsonFile);
+             BinaryGraphWriter writer = new BinaryGraphWriter(binaryFile)) {
+            graphs.forEach(graph -> {
+                try {
+                    writer.write(graph.toCompact());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.graphCount;
+        }
+    }
+
+    public void write(CompactGraph graph) throws IOException {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        byte[][] encoded = new byte[n][];
+        int nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            encoded[v] = graph.getName(v).getBytes(StandardCharsets.UTF_8);
+            nameBytes += encoded[v].length;
+        }
+
+        putInt(graph.getId());
+        putInt(n);
+        putInt(m);
+        putInt(nameBytes);
+
+        int offset = 0;
+        putInt(offset);
+        for (byte[] name : encoded) {
+            offset += name.length;
+            putInt(offset);
+        }
+        for (byte[] name : encoded) {
+            putBytes(name);
+        }
+        for (int pad = nameBytes; pad < BinaryGraphFormat.padded(nameBytes); pad++) {
+            ensureRoom(1);
+            chunk.put((byte) 0);
+        }
+
+        putInts(graph.getEdgeFrom(), m);
+        putInts(graph.getEdgeTo(), m);
+        putInts(graph.getEdgeWeight(), m);
+        flushChunk();
+        graphCount++;
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureRoom(4);
+        chunk.putInt(value);
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        int done = 0;
+        while (done < bytes.length) {
+            ensureRoom(1);
+            int length = Math.min(chunk.remaining(), bytes.length - done);
+            chunk.put(bytes, done, length);
+            done += length;
+        }
+    }
+
+    private void putInts(int[] values, int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            ensureRoom(4);
+            int count = Math.min(chunk.remaining() / 4, length - done);
+            IntBuffer ints = chunk.asIntBuffer();
+            ints.put(values, done, count);
+            chunk.position(chunk.position() + 4 * count);
+            done += count;
+        }
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (chunk.remaining() < bytes) {
+            flushChunk();
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        chunk.flip();
+        while (chunk.hasRemaining()) {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushChunk();
+            ByteBuffer count = ByteBuffer.allocate(4).order(BinaryGraphFormat.ORDER);
+            count.putInt(graphCount).flip();
+            channel.write(count, 8);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package util;
+
+import com.google.gson.stream.JsonWriter;
+import model.*;
+import java.io.*;
+
+// Writes graphs in the ass_3_input.json schema straight from CompactGraph
+// arrays, one graph at a time
+public class GraphJsonWriter implements Closeable {
+    private final JsonWriter writer;
+
+    public GraphJsonWriter(String filename, boolean compact) throws IOException {
+        this(new FileWriter(filename), compact);
+    }
+
+    public GraphJsonWriter(Writer output, boolean compact) throws IOException {
+        writer = new JsonWriter(new BufferedWriter(output, 1 << 16));
+        if (!compact) {
+            writer.setIndent("  ");
+        }
+        writer.beginObject();
+        writer.name("graphs");
+        writer.beginArray();
+    }
+
+    public void write(CompactGraph graph) throws IOException {
+        int[] edgeFrom = graph.getEdgeFrom();
+        int[] edgeTo = graph.getEdgeTo();
+        int[] edgeWeight = graph.getEdgeWeight();
+
+        writer.beginObject();
+        writer.name("id").value(graph.getId());
+
+        writer.name("nodes");
+        writer.beginArray();
+        for (String name : graph.getNames()) {
+            writer.value(name);
+        }
+        writer.endArray();
+
+        writer.name("edges");
+        writer.beginArray();
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            writer.beginObject();
+            writer.name("from").value(graph.getName(edgeFrom[e]));
+            writer.name("to").value(graph.getName(edgeTo[e]));
+            writer.name("weight").value(edgeWeight[e]);
+            writer.endObject();
+        }
+        writer.endArray();
+
+        writer.endObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.endArray();
+            writer.endObject();
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import model.*;
+import structure.IntList;
+import java.io.*;
+import java.util.*;
+
+// Pulls graphs out of an ass_3_input.json style file one at a time with
+// Gson's token API. Edges go straight into primitive buffers, so only the
+// graph currently being read is held in memory.
+public class GraphStreamReader implements Iterator<Graph>, Closeable {
+    private final JsonReader reader;
+    private boolean inGraphs;
+    private boolean finished;
+
+    public GraphStreamReader(Reader input) throws IOException {
+        reader = new JsonReader(new BufferedReader(input, 1 << 16));
+        seekGraphs();
+    }
+
+    public static GraphStreamReader open(String filename) throws IOException {
+        return new GraphStreamReader(new FileReader(filename));
+    }
+
+    private void seekGraphs() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                inGraphs = true;
+                return;
+            }
+            reader.skipValue();
+        }
+        finished = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (inGraphs && reader.hasNext()) {
+                return true;
+            }
+            finished = true;
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return new Graph(readGraph());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompactGraph readGraph() throws IOException {
+        int id = 0;
+        // Names are interned in order of first appearance, which may be an
+        // edge endpoint if "edges" comes before "nodes"
+        Map<String, Integer> interned = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        IntList nodeOrder = new IntList();
+        IntList from = new IntList();
+        IntList to = new IntList();
+        IntList weight = new IntList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "nodes":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        nodeOrder.add(intern(reader.nextString(), interned, names));
+                    }
+                    reader.endArray();
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        readEdge(interned, names, from, to, weight);
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return toCompact(id, names, nodeOrder, from, to, weight);
+    }
+
+    private void readEdge(Map<String, Integer> interned, List<String> names,
+                          IntList from, IntList to, IntList weight) throws IOException {
+        int edgeFrom = -1;
+        int edgeTo = -1;
+        int edgeWeight = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    edgeFrom = intern(reader.nextString(), interned, names);
+                    break;
+                case "to":
+                    edgeTo = intern(reader.nextString(), interned, names);
+                    break;
+                case "weight":
+                    edgeWeight = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (edgeFrom < 0 || edgeTo < 0) {
+            throw new IOException("Edge without \"from\" or \"to\" at " + reader.getPath());
+        }
+        from.add(edgeFrom);
+        to.add(edgeTo);
+        weight.add(edgeWeight);
+    }
+
+    private static int intern(String name, Map<String, Integer> interned, List<String> names) {
+        Integer id = interned.get(name);
+        if (id == null) {
+            id = names.size();
+            interned.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    // Renumbers vertices so ids follow the "nodes" array, as CompactGraph.fromGraph does
+    private static CompactGraph toCompact(int id, List<String> names, IntList nodeOrder,
+                                          IntList from, IntList to, IntList weight) {
+        int[] remap = new int[names.size()];
+        Arrays.fill(remap, -1);
+        List<String> ordered = new ArrayList<>(nodeOrder.size());
+        boolean identity = true;
+        for (int i = 0; i < nodeOrder.size(); i++) {
+            int interned = nodeOrder.get(i);
+            if (remap[interned] >= 0) {
+                continue; // Duplicate node
+            }
+            remap[interned] = ordered.size();
+            identity &= remap[interned] == interned;
+            ordered.add(names.get(interned));
+        }
+
+        for (int v = 0; v < remap.length; v++) {
+            if (remap[v] < 0) {
+                throw new IllegalArgumentException("Graph " + id + " has an edge referencing unknown vertex "
+                        + names.get(v));
+            }
+        }
+
+        int[] edgeFrom = from.buffer();
+        int[] edgeTo = to.buffer();
+        if (!identity) {
+            for (int e = 0; e < from.size(); e++) {
+                edgeFrom[e] = remap[edgeFrom[e]];
+                edgeTo[e] = remap[edgeTo[e]];
+            }
+        }
+
+        return new CompactGraph(id, ordered.toArray(new String[0]), edgeFrom, edgeTo, weight.buffer(),
+                from.size());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,163 @@
+package util;
+
+import model.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+// Reads a BinaryGraphFormat file through FileChannel.map. Opening only walks
+// the graph headers; a graph's section is mapped when it is requested and its
+// edge arrays are bulk-copied out of the mapping, with no parsing and no
+// Edge objects. readEdges() copies a slice at a time for graphs too large to
+// hold in memory.
+public class MappedGraphFile implements Closeable {
+    private final FileChannel channel;
+    private final long[] sectionOffsets;
+    private final int[] ids;
+    private final int[] vertexCounts;
+    private final int[] edgeCounts;
+    private final int[] nameByteCounts;
+
+    public MappedGraphFile(String filename) throws IOException {
+        channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, BinaryGraphFormat.HEADER_BYTES);
+            if (header.getInt() != BinaryGraphFormat.MAGIC) {
+                throw new IOException(filename + " is not a binary graph file");
+            }
+            int version = header.getInt();
+            if (version != BinaryGraphFormat.VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + filename);
+            }
+            int graphCount = header.getInt();
+
+            sectionOffsets = new long[graphCount];
+            ids = new int[graphCount];
+            vertexCounts = new int[graphCount];
+            edgeCounts = new int[graphCount];
+            nameByteCounts = new int[graphCount];
+            long position = BinaryGraphFormat.HEADER_BYTES;
+            for (int i = 0; i < graphCount; i++) {
+                sectionOffsets[i] = position;
+                ByteBuffer graphHeader = read(position, BinaryGraphFormat.GRAPH_HEADER_BYTES);
+                ids[i] = graphHeader.getInt();
+                vertexCounts[i] = graphHeader.getInt();
+                edgeCounts[i] = graphHeader.getInt();
+                nameByteCounts[i] = graphHeader.getInt();
+                position += BinaryGraphFormat.sectionBytes(vertexCounts[i], edgeCounts[i], nameByteCounts[i]);
+            }
+            if (position > channel.size()) {
+                throw new IOException(filename + " is truncated");
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(BinaryGraphFormat.ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of binary graph file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public int getGraphCount() {
+        return sectionOffsets.length;
+    }
+
+    public int getGraphId(int index) { return ids[index]; }
+    public int getVertexCount(int index) { return vertexCounts[index]; }
+    public int getEdgeCount(int index) { return edgeCounts[index]; }
+
+    public CompactGraph readGraph(int index) throws IOException {
+        int m = edgeCounts[index];
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        readEdges(index, 0, m, from, to, weight);
+        return new CompactGraph(ids[index], readNames(index), from, to, weight, m);
+    }
+
+    public String[] readNames(int index) throws IOException {
+        int n = vertexCounts[index];
+        int nameBytes = nameByteCounts[index];
+        long offset = sectionOffsets[index] + BinaryGraphFormat.GRAPH_HEADER_BYTES;
+        MappedByteBuffer section = map(offset, 4L * (n + 1) + nameBytes);
+
+        int[] nameOffsets = new int[n + 1];
+        section.asIntBuffer().get(nameOffsets);
+        section.position(4 * (n + 1));
+
+        byte[] nameBlock = new byte[nameBytes];
+        section.get(nameBlock);
+
+        String[] names = new String[n];
+        for (int v = 0; v < n; v++) {
+            names[v] = new String(nameBlock, nameOffsets[v], nameOffsets[v + 1] - nameOffsets[v],
+                    StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    // Copies edges [start, start + count) of a graph into the front of the arrays
+    public void readEdges(int index, int start, int count, int[] from, int[] to, int[] weight)
+            throws IOException {
+        int m = edgeCounts[index];
+        if (start < 0 || count < 0 || start + count > m) {
+            throw new IndexOutOfBoundsException("Edges " + start + ".." + (start + count)
+                    + " out of bounds for " + m + " edges");
+        }
+        long edges = sectionOffsets[index] + BinaryGraphFormat.GRAPH_HEADER_BYTES
+                + 4L * (vertexCounts[index] + 1) + BinaryGraphFormat.padded(nameByteCounts[index]);
+        map(edges + 4L * start, 4L * count).asIntBuffer().get(from, 0, count);
+        map(edges + 4L * m + 4L * start, 4L * count).asIntBuffer().get(to, 0, count);
+        map(edges + 8L * m + 4L * start, 4L * count).asIntBuffer().get(weight, 0, count);
+    }
+
+    private MappedByteBuffer map(long position, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Cannot map " + length + " bytes in one piece");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        buffer.order(BinaryGraphFormat.ORDER);
+        return buffer;
+    }
+
+    // Opens the file and streams its graphs; closing the stream closes the file
+    public static Stream<Graph> streamGraphs(String filename) throws IOException {
+        MappedGraphFile file = new MappedGraphFile(filename);
+        return file.stream().onClose(() -> {
+            try {
+                file.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Graphs in file order, each loaded when the stream reaches it
+    public Stream<Graph> stream() {
+        return IntStream.range(0, getGraphCount()).mapToObj(i -> {
+            try {
+                return new Graph(readGraph(i));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
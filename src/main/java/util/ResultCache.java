@@ -0,0 +1,336 @@
+package util;
+
+import analysis.DetailedMetrics;
+import analysis.Metrics;
+import model.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+// MST results keyed by algorithm name and a SHA-256 fingerprint of the graph
+// (vertex names in order, then every edge in order; the graph id is left out).
+// Results are kept in memory in LRU order up to a total number of tree edges;
+// with a directory they are also written there, so later runs find them after
+// a restart. Safe to share between solver threads.
+public class ResultCache {
+    public static final long DEFAULT_MAX_EDGES = 1 << 21;
+
+    private static final int MAGIC = 0x4D535452; // "MSTR"
+    private static final int VERSION = 2;
+    private static final int DIGEST_BUFFER_BYTES = 1 << 16;
+
+    private final long maxEdges;
+    private final Path directory;
+    private final LinkedHashMap<String, MSTResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Fingerprints of graphs currently being solved, so each is hashed once
+    // however many algorithms look it up
+    private final Map<CompactGraph, String> fingerprints = new WeakHashMap<>();
+    private long storedEdges;
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+    private long diskErrors;
+
+    public ResultCache() {
+        this(DEFAULT_MAX_EDGES, null);
+    }
+
+    // maxEdges bounds the tree edges held in memory; directory null keeps
+    // the cache in memory only
+    public ResultCache(long maxEdges, Path directory) {
+        if (maxEdges < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative: " + maxEdges);
+        }
+        this.maxEdges = maxEdges;
+        this.directory = directory;
+    }
+
+    public String fingerprint(CompactGraph graph) {
+        synchronized (fingerprints) {
+            String cached = fingerprints.get(graph);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String fingerprint = computeFingerprint(graph);
+        synchronized (fingerprints) {
+            fingerprints.put(graph, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    // Null on a miss
+    public MSTResult get(String algorithm, CompactGraph graph) {
+        String key = algorithm + "-" + fingerprint(graph);
+        synchronized (this) {
+            MSTResult result = entries.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+        }
+
+        MSTResult stored = directory == null ? null : readEntry(key);
+        synchronized (this) {
+            if (stored == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            diskHits++;
+            store(key, stored);
+            return stored;
+        }
+    }
+
+    public void put(String algorithm, CompactGraph graph, MSTResult result) {
+        String key = algorithm + "-" + fingerprint(graph);
+        synchronized (this) {
+            store(key, result);
+        }
+        if (directory != null) {
+            writeEntry(key, result);
+        }
+    }
+
+    private void store(String key, MSTResult result) {
+        long weight = weight(result);
+        if (weight > maxEdges) {
+            return;
+        }
+        MSTResult previous = entries.put(key, result);
+        if (previous != null) {
+            storedEdges -= weight(previous);
+        }
+        storedEdges += weight;
+
+        Iterator<MSTResult> eldest = entries.values().iterator();
+        while (storedEdges > maxEdges) {
+            storedEdges -= weight(eldest.next());
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    // Tree edges plus one per result; component results share the edges of
+    // the forest they belong to
+    private static long weight(MSTResult result) {
+        return 1 + result.getEdgeCount() + result.getComponents().size();
+    }
+
+    private static String computeFingerprint(CompactGraph graph) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_BYTES);
+        buffer.putInt(graph.getVertexCount());
+        for (String name : graph.getNames()) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < 4 + bytes.length) {
+                flush(digest, buffer);
+            }
+            buffer.putInt(bytes.length);
+            if (bytes.length > buffer.remaining()) {
+                flush(digest, buffer);
+                digest.update(bytes);
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        int[] from = graph.getEdgeFrom();
+        int[] to = graph.getEdgeTo();
+        int[] weight = graph.getEdgeWeight();
+        if (buffer.remaining() < 4) {
+            flush(digest, buffer);
+        }
+        buffer.putInt(graph.getEdgeCount());
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            if (buffer.remaining() < 12) {
+                flush(digest, buffer);
+            }
+            buffer.putInt(from[e]).putInt(to[e]).putInt(weight[e]);
+        }
+        flush(digest, buffer);
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        digest.update(buffer.array(), 0, buffer.position());
+        buffer.clear();
+    }
+
+    // The disk tier only speeds things up, so a broken or unwritable entry
+    // counts as a miss (and a disk error) rather than failing the run
+
+    private MSTResult readEntry(String key) {
+        Path file = directory.resolve(key + ".mst");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a result cache entry");
+            }
+            return readResult(in, Files.size(file));
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                diskErrors++;
+            }
+            return null;
+        }
+    }
+
+    // Written to a temporary file and moved into place, so concurrent runs
+    // sharing the directory never see half an entry
+    private void writeEntry(String key, MSTResult result) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeResult(out, result);
+            }
+            Files.move(temp, directory.resolve(key + ".mst"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                diskErrors++;
+            }
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // nothing more to do
+                }
+            }
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, MSTResult result) throws IOException {
+        out.writeUTF(result.getEngine() == null ? "" : result.getEngine());
+        out.writeLong(result.getTotalCost());
+        out.writeDouble(result.getExecutionTimeMs());
+
+        TreeEdges tree = result.getTree();
+        String[] names = tree.getNames();
+        out.writeInt(names.length);
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+        out.writeInt(tree.size());
+        for (int i = 0; i < tree.size(); i++) {
+            out.writeInt(tree.getFrom(i));
+            out.writeInt(tree.getTo(i));
+            out.writeInt(tree.getWeight(i));
+        }
+
+        if (result.getMetrics() instanceof DetailedMetrics) {
+            DetailedMetrics metrics = (DetailedMetrics) result.getMetrics();
+            out.writeBoolean(true);
+            out.writeInt(metrics.getCounters().size());
+            for (Map.Entry<String, Long> counter : metrics.getCounters().entrySet()) {
+                out.writeUTF(counter.getKey());
+                out.writeLong(counter.getValue());
+            }
+            out.writeInt(metrics.getPhaseTimesMs().size());
+            for (Map.Entry<String, Double> phase : metrics.getPhaseTimesMs().entrySet()) {
+                out.writeUTF(phase.getKey());
+                out.writeDouble(phase.getValue());
+            }
+        } else {
+            out.writeBoolean(false);
+        }
+
+        out.writeInt(result.getComponents().size());
+        for (MSTResult component : result.getComponents()) {
+            writeResult(out, component);
+        }
+    }
+
+    // entryBytes bounds every count, so a corrupt one fails here instead of
+    // allocating a negative or huge array
+    private static MSTResult readResult(DataInputStream in, long entryBytes) throws IOException {
+        String engine = in.readUTF();
+        long totalCost = in.readLong();
+        double executionTimeMs = in.readDouble();
+
+        String[] names = new String[readCount(in, entryBytes)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = in.readUTF();
+        }
+        int edgeCount = readCount(in, entryBytes);
+        TreeEdges tree = new TreeEdges(names, edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            int from = in.readInt();
+            int to = in.readInt();
+            int weight = in.readInt();
+            if (from < 0 || from >= names.length || to < 0 || to >= names.length) {
+                throw new IOException("edge endpoint out of range");
+            }
+            tree.add(from, to, weight);
+        }
+
+        Metrics metrics = Metrics.NONE;
+        if (in.readBoolean()) {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            int counterCount = readCount(in, entryBytes);
+            for (int i = 0; i < counterCount; i++) {
+                counters.put(in.readUTF(), in.readLong());
+            }
+            Map<String, Double> phases = new LinkedHashMap<>();
+            int phaseCount = readCount(in, entryBytes);
+            for (int i = 0; i < phaseCount; i++) {
+                phases.put(in.readUTF(), in.readDouble());
+            }
+            metrics = DetailedMetrics.restore(counters, phases);
+        }
+
+        int componentCount = readCount(in, entryBytes);
+        List<MSTResult> components = componentCount == 0 ? Collections.emptyList() : new ArrayList<>(componentCount);
+        for (int i = 0; i < componentCount; i++) {
+            components.add(readResult(in, entryBytes));
+        }
+
+        return new MSTResult(tree, totalCost, metrics, executionTimeMs, components,
+                engine.isEmpty() ? null : engine);
+    }
+
+    private static int readCount(DataInputStream in, long entryBytes) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > entryBytes) {
+            throw new IOException("corrupt count " + count);
+        }
+        return count;
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getDiskHits() { return diskHits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+    public synchronized long getDiskErrors() { return diskErrors; }
+    public synchronized int getSize() { return entries.size(); }
+    public synchronized long getStoredEdges() { return storedEdges; }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : hits / (double) lookups;
+    }
+}
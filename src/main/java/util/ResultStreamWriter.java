@@ -0,0 +1,163 @@
+package util;
+
+import analysis.DetailedMetrics;
+import com.google.gson.stream.JsonWriter;
+import model.*;
+import java.io.*;
+import java.util.*;
+
+// Writes {"results": [...]} incrementally: each graph's entry is appended and
+// flushed as soon as it is solved instead of building the whole tree first.
+// finish() completes the document; closing without it leaves the output
+// unterminated, so a run that failed part way cannot pass for a complete one.
+public class ResultStreamWriter implements Closeable {
+    private final Writer output;
+    private final JsonWriter writer;
+    private boolean inResults = true;
+    private boolean finished = false;
+
+    public ResultStreamWriter(String filename, boolean compact) throws IOException {
+        this(new FileWriter(filename), compact);
+    }
+
+    public ResultStreamWriter(Writer output, boolean compact) throws IOException {
+        this.output = new BufferedWriter(output, 1 << 16);
+        writer = new JsonWriter(this.output);
+        if (!compact) {
+            writer.setIndent("  ");
+        }
+        writer.beginObject();
+        writer.name("results");
+        writer.beginArray();
+    }
+
+    // results maps an output key such as "prim" to that algorithm's result
+    public void writeResult(Graph graph, Map<String, MSTResult> results) throws IOException {
+        writeResult(graph.getId(), graph.getVertexCount(), graph.getEdgeCount(), results);
+    }
+
+    // For graphs that were never loaded as a whole, e.g. by ExternalKruskal
+    public void writeResult(int graphId, int vertices, int edges, Map<String, MSTResult> results)
+            throws IOException {
+        writer.beginObject();
+        writer.name("graph_id").value(graphId);
+
+        writer.name("input_stats");
+        writer.beginObject();
+        writer.name("vertices").value(vertices);
+        writer.name("edges").value(edges);
+        writer.endObject();
+
+        for (Map.Entry<String, MSTResult> entry : results.entrySet()) {
+            writer.name(entry.getKey());
+            writeMSTResult(entry.getValue());
+        }
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    // Ends the results array and adds a sibling object, e.g. request timings;
+    // no more results can be written afterwards
+    public void writeSummary(String name, Map<String, ? extends Number> values) throws IOException {
+        endResults();
+        writer.name(name);
+        writer.beginObject();
+        for (Map.Entry<String, ? extends Number> value : values.entrySet()) {
+            writer.name(value.getKey()).value(value.getValue());
+        }
+        writer.endObject();
+    }
+
+    private void endResults() throws IOException {
+        if (inResults) {
+            writer.endArray();
+            inResults = false;
+        }
+    }
+
+    private void writeMSTResult(MSTResult result) throws IOException {
+        writer.beginObject();
+        if (result.getEngine() != null) {
+            writer.name("engine").value(result.getEngine());
+        }
+
+        // Straight from the tree's arrays, no Edge objects
+        TreeEdges tree = result.getTree();
+        writer.name("mst_edges");
+        writer.beginArray();
+        for (int i = 0; i < tree.size(); i++) {
+            writer.beginObject();
+            writer.name("from").value(tree.getFromName(i));
+            writer.name("to").value(tree.getToName(i));
+            writer.name("weight").value(tree.getWeight(i));
+            writer.endObject();
+        }
+        writer.endArray();
+
+        writer.name("total_cost").value(result.getTotalCost());
+        writer.name("operations_count").value(result.getOperationsCount());
+        writer.name("execution_time_ms").value(Math.round(result.getExecutionTimeMs() * 100.0) / 100.0);
+        if (result.isCached()) {
+            // execution_time_ms is the cache lookup, the metrics are the original solve's
+            writer.name("cached").value(true);
+        }
+        if (result.getMetrics() instanceof DetailedMetrics) {
+            writeMetrics((DetailedMetrics) result.getMetrics());
+        }
+        if (!result.getComponents().isEmpty()) {
+            writeComponents(result.getComponents());
+        }
+
+        writer.endObject();
+    }
+
+    // Per-component sizes, costs and engines; the edges are already in mst_edges
+    private void writeComponents(List<MSTResult> components) throws IOException {
+        writer.name("components");
+        writer.beginArray();
+        for (MSTResult component : components) {
+            writer.beginObject();
+            if (component.getEngine() != null) {
+                writer.name("engine").value(component.getEngine());
+            }
+            writer.name("vertices").value(component.getEdgeCount() + 1);
+            writer.name("total_cost").value(component.getTotalCost());
+            writer.endObject();
+        }
+        writer.endArray();
+    }
+
+    private void writeMetrics(DetailedMetrics metrics) throws IOException {
+        writer.name("metrics");
+        writer.beginObject();
+        for (Map.Entry<String, Long> counter : metrics.getCounters().entrySet()) {
+            writer.name(counter.getKey()).value(counter.getValue());
+        }
+        writer.name("phase_ms");
+        writer.beginObject();
+        for (Map.Entry<String, Double> phase : metrics.getPhaseTimesMs().entrySet()) {
+            writer.name(phase.getKey()).value(Math.round(phase.getValue() * 100.0) / 100.0);
+        }
+        writer.endObject();
+        writer.endObject();
+    }
+
+    // Ends the document; nothing can be written afterwards
+    public void finish() throws IOException {
+        endResults();
+        writer.endObject();
+        writer.flush();
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            writer.close();
+        } else {
+            // JsonWriter refuses to close an incomplete document
+            output.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package algorithm;
+
+import analysis.DetailedMetrics;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoruvkaAlgorithmTest {
+    // More workers than this sandbox may have CPUs, so the edge scans really split
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void matchesKruskalOnEveryModelAndWeightDistribution() {
+        BoruvkaAlgorithm boruvka = new BoruvkaAlgorithm(pool);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        long seed = 1;
+        for (GraphGenerator.Model model : GraphGenerator.Model.values()) {
+            for (WeightDistribution weights : WeightDistribution.values()) {
+                int vertices = model == GraphGenerator.Model.COMPLETE ? 150 : 5_000;
+                CompactGraph graph = model.generate(0, vertices, 8, weights, seed++);
+
+                MSTResult expected = kruskal.findMST(graph);
+                MSTResult actual = boruvka.findMST(graph, new DetailedMetrics());
+
+                assertEquals(expected.getTotalCost(), actual.getTotalCost(), model + "/" + weights);
+                MSTAssertions.assertSpanningForest(graph, actual);
+            }
+        }
+    }
+
+    @Test
+    void findsTheSameTreeAsKruskalWhenWeightsTie() {
+        // Both order edges by (weight, index), so even with ties the trees agree
+        CompactGraph graph = GraphGenerator.erdosRenyi(0, 3_000, 20_000, WeightDistribution.SMALL_RANGE, 7);
+
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+        MSTResult actual = new BoruvkaAlgorithm(pool).findMST(graph);
+
+        assertEquals(edgeSet(expected), edgeSet(actual));
+    }
+
+    @Test
+    void returnsAForestForDisconnectedGraphs() {
+        String[] names = {"A", "B", "C", "D", "E", "F"};
+        int[] from = {0, 1, 0, 3, 4};
+        int[] to = {1, 2, 2, 4, 3};
+        int[] weight = {4, 1, 2, 7, 5};
+        CompactGraph graph = new CompactGraph(1, names, from, to, weight, from.length);
+
+        MSTResult result = new BoruvkaAlgorithm(pool).findMST(graph);
+
+        assertEquals(8, result.getTotalCost());
+        MSTAssertions.assertSpanningForest(graph, result);
+    }
+
+    @Test
+    void handlesEmptyAndSingleVertexGraphs() {
+        BoruvkaAlgorithm boruvka = new BoruvkaAlgorithm(pool);
+        CompactGraph empty = new CompactGraph(1, new String[0], new int[0], new int[0], new int[0], 0);
+        CompactGraph single = new CompactGraph(2, new String[]{"A"}, new int[0], new int[0], new int[0], 0);
+
+        assertEquals(0, boruvka.findMST(empty).getEdgeCount());
+        assertEquals(0, boruvka.findMST(single).getEdgeCount());
+    }
+
+    private static Set<String> edgeSet(MSTResult result) {
+        Set<String> edges = new HashSet<>();
+        TreeEdges tree = result.getTree();
+        for (int i = 0; i < tree.size(); i++) {
+            String a = tree.getFromName(i);
+            String b = tree.getToName(i);
+            edges.add((a.compareTo(b) < 0 ? a + "-" + b : b + "-" + a) + ":" + tree.getWeight(i));
+        }
+        return edges;
+    }
+}
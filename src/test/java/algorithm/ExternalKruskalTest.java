@@ -0,0 +1,71 @@
+package algorithm;
+
+import analysis.DetailedMetrics;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.BinaryGraphWriter;
+import util.MappedGraphFile;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalKruskalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void findsTheSameTreeAsKruskalEdgeForEdge() throws IOException {
+        List<CompactGraph> graphs = Arrays.asList(
+                // Many equal weights, so the edge index has to break the ties
+                GraphGenerator.erdosRenyi(1, 2_000, 20_000, WeightDistribution.SMALL_RANGE, 3),
+                GraphGenerator.erdosRenyi(2, 2_000, 20_000, WeightDistribution.UNIFORM, 4),
+                // Disconnected: the scan runs to the last edge
+                GraphGenerator.geometric(3, 3_000, 2, WeightDistribution.DISTANCE, 5),
+                new CompactGraph(4, new String[]{"A"}, new int[0], new int[0], new int[0], 0));
+        String file = write(graphs);
+        Path temp = Files.createDirectories(dir.resolve("runs"));
+
+        // 7 edges per chunk makes thousands of runs and several merge passes
+        for (int chunkEdges : new int[]{7, 1_000, ExternalKruskal.DEFAULT_CHUNK_EDGES}) {
+            ExternalKruskal external = new ExternalKruskal(chunkEdges, temp);
+            try (MappedGraphFile mapped = new MappedGraphFile(file)) {
+                for (int i = 0; i < graphs.size(); i++) {
+                    MSTResult expected = new KruskalAlgorithm().findMST(graphs.get(i));
+                    MSTResult actual = external.findMST(mapped, i, new DetailedMetrics());
+
+                    String context = "graph " + graphs.get(i).getId() + ", chunk " + chunkEdges;
+                    assertEquals(expected.getTotalCost(), actual.getTotalCost(), context);
+                    assertEquals(expected.getEdgeCount(), actual.getEdgeCount(), context);
+                    for (int e = 0; e < expected.getEdgeCount(); e++) {
+                        assertEquals(expected.getTree().toEdge(e).toString(), actual.getTree().toEdge(e).toString(),
+                                context + ", tree edge " + e);
+                    }
+                }
+            }
+            try (Stream<Path> left = Files.list(temp)) {
+                assertEquals(0, left.count(), "temporary runs left behind with chunk " + chunkEdges);
+            }
+        }
+    }
+
+    @Test
+    void rejectsAnEmptyChunk() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalKruskal(0, null));
+    }
+
+    private String write(List<CompactGraph> graphs) throws IOException {
+        String file = dir.resolve("graphs.bin").toString();
+        try (BinaryGraphWriter writer = new BinaryGraphWriter(file)) {
+            for (CompactGraph graph : graphs) {
+                writer.write(graph);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,71 @@
+package algorithm;
+
+import analysis.Metrics;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalMSTTest {
+    private static final int UPDATES = 2_000;
+
+    @Test
+    void matchesAFreshSolveAfterEveryUpdate() {
+        long seed = 21;
+        for (WeightDistribution weights : WeightDistribution.values()) {
+            CompactGraph graph = GraphGenerator.erdosRenyi(0, 80, 200, weights, seed);
+            runRandomUpdates(graph, new Random(seed), 100);
+            seed++;
+        }
+    }
+
+    @Test
+    void staysCorrectWhenDeletionsSplitTheGraph() {
+        // Few spare edges and small weights: deletions disconnect the forest
+        // and reweights keep producing ties
+        CompactGraph graph = GraphGenerator.erdosRenyi(0, 60, 70, WeightDistribution.SMALL_RANGE, 5);
+        runRandomUpdates(graph, new Random(5), 5);
+    }
+
+    private static void runRandomUpdates(CompactGraph graph, Random random, int maxWeight) {
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+        IncrementalMST incremental = new IncrementalMST(graph, kruskal.findMST(graph), Metrics.NONE);
+        List<Integer> live = new ArrayList<>();
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            live.add(e);
+        }
+
+        for (int step = 0; step < UPDATES; step++) {
+            int action = live.isEmpty() ? 0 : random.nextInt(3);
+            String description;
+            if (action == 0) {
+                String from = graph.getName(random.nextInt(graph.getVertexCount()));
+                String to = graph.getName(random.nextInt(graph.getVertexCount()));
+                int weight = 1 + random.nextInt(maxWeight);
+                live.add(incremental.insertEdge(from, to, weight));
+                description = "insert " + from + "-" + to + " @" + weight;
+            } else if (action == 1) {
+                int edge = live.remove(random.nextInt(live.size()));
+                incremental.deleteEdge(edge);
+                description = "delete #" + edge;
+            } else {
+                int edge = live.get(random.nextInt(live.size()));
+                int weight = 1 + random.nextInt(maxWeight);
+                incremental.updateWeight(edge, weight);
+                description = "reweight #" + edge + " to " + weight;
+            }
+
+            CompactGraph current = incremental.toCompactGraph();
+            MSTResult expected = kruskal.findMST(current);
+            MSTResult actual = incremental.toResult();
+            String context = "step " + step + " (" + description + ")";
+            assertEquals(expected.getTotalCost(), actual.getTotalCost(), context);
+            assertEquals(expected.getEdgeCount(), actual.getEdgeCount(), context);
+            assertEquals(actual.getTotalCost(), incremental.getTotalCost(), context);
+            MSTAssertions.assertSpanningForest(current, actual);
+        }
+    }
+}
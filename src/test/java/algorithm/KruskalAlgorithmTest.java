@@ -0,0 +1,86 @@
+package algorithm;
+
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KruskalAlgorithmTest {
+    // Widest weight range the radix sort takes
+    private static final int RANGE_LIMIT = (1 << 22) - 1;
+
+    @Test
+    void everyModeFindsTheSameCost() {
+        long seed = 11;
+        for (WeightDistribution weights : WeightDistribution.values()) {
+            // Dense enough that the filter mode partitions several times
+            CompactGraph graph = GraphGenerator.erdosRenyi(0, 2_000, 60_000, weights, seed++);
+            MSTResult expected = new KruskalAlgorithm(KruskalAlgorithm.Mode.STANDARD).findMST(graph);
+
+            for (KruskalAlgorithm.Mode mode : KruskalAlgorithm.Mode.values()) {
+                MSTResult actual = new KruskalAlgorithm(mode).findMST(graph);
+                assertEquals(expected.getTotalCost(), actual.getTotalCost(), mode + "/" + weights);
+                MSTAssertions.assertSpanningForest(graph, actual);
+            }
+        }
+    }
+
+    @Test
+    void filterModeFinishesOnEqualWeights() {
+        // All keys share a weight, so only the index part separates them
+        CompactGraph graph = GraphGenerator.erdosRenyi(0, 500, 20_000, WeightDistribution.SMALL_RANGE, 3);
+        int[] weight = graph.getEdgeWeight();
+        Arrays.fill(weight, 0, graph.getEdgeCount(), 1);
+
+        MSTResult result = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> new KruskalAlgorithm(KruskalAlgorithm.Mode.FILTER).findMST(graph));
+
+        assertEquals(graph.getVertexCount() - 1, result.getTotalCost());
+        MSTAssertions.assertSpanningForest(graph, result);
+    }
+
+    @Test
+    void radixSortMatchesArraysSortAcrossTheWeightRange() {
+        assertSortsLikeArraysSort(-5, 5);
+        assertSortsLikeArraysSort(0, 0);
+        assertSortsLikeArraysSort(7, 7);
+        assertSortsLikeArraysSort(1, 1000);
+        assertSortsLikeArraysSort(Integer.MIN_VALUE, Integer.MIN_VALUE + RANGE_LIMIT);
+        assertSortsLikeArraysSort(Integer.MAX_VALUE - RANGE_LIMIT, Integer.MAX_VALUE);
+        assertSortsLikeArraysSort(-RANGE_LIMIT / 2, RANGE_LIMIT - RANGE_LIMIT / 2);
+    }
+
+    @Test
+    void radixSortAppliesUpToA22BitRange() {
+        assertTrue(KruskalAlgorithm.radixApplies(1 << 10, 0, RANGE_LIMIT));
+        assertFalse(KruskalAlgorithm.radixApplies(1 << 10, 0, RANGE_LIMIT + 1));
+        assertTrue(KruskalAlgorithm.radixApplies(1 << 10, Integer.MIN_VALUE, Integer.MIN_VALUE + RANGE_LIMIT));
+        assertFalse(KruskalAlgorithm.radixApplies(1 << 10, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        // Too few keys to beat the library sort
+        assertFalse(KruskalAlgorithm.radixApplies((1 << 10) - 1, 0, 10));
+    }
+
+    // Keys are packed as in KruskalAlgorithm and arrive in index order; both
+    // range ends are always present
+    private static void assertSortsLikeArraysSort(int minWeight, int maxWeight) {
+        Random random = new Random(minWeight ^ maxWeight);
+        int n = 50_000;
+        long range = (long) maxWeight - minWeight + 1;
+        long[] keys = new long[n];
+        for (int e = 0; e < n; e++) {
+            int weight = e == 0 ? minWeight : e == 1 ? maxWeight
+                    : (int) (minWeight + (long) (random.nextDouble() * range));
+            keys[e] = ((long) weight << 32) | e;
+        }
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+
+        KruskalAlgorithm.radixSort(keys, n, minWeight, maxWeight);
+
+        assertArrayEquals(expected, keys, "weights " + minWeight + ".." + maxWeight);
+    }
+}
@@ -0,0 +1,53 @@
+package algorithm;
+
+import model.*;
+import structure.DisjointSet;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Checks shared by the algorithm tests
+final class MSTAssertions {
+    private MSTAssertions() {
+    }
+
+    // result is a spanning forest of graph: every edge exists in it, there
+    // are no cycles, it has one edge per merged component and the cost adds up
+    static void assertSpanningForest(CompactGraph graph, MSTResult result) {
+        DisjointSet sets = new DisjointSet(graph.getVertexCount());
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            sets.union(graph.getEdgeFrom()[e], graph.getEdgeTo()[e]);
+        }
+        int components = sets.getSetCount();
+
+        Map<Long, Set<Integer>> weights = edgeWeights(graph);
+        DisjointSet tree = new DisjointSet(graph.getVertexCount());
+        TreeEdges edges = result.getTree();
+        long cost = 0;
+        for (int i = 0; i < edges.size(); i++) {
+            int u = graph.indexOf(edges.getFromName(i));
+            int v = graph.indexOf(edges.getToName(i));
+            assertTrue(u >= 0 && v >= 0, "unknown endpoint in " + edges.toEdge(i));
+            assertTrue(weights.getOrDefault(pair(u, v), Collections.emptySet()).contains(edges.getWeight(i)),
+                    "edge not in graph: " + edges.toEdge(i));
+            assertTrue(tree.union(u, v), "cycle through " + edges.toEdge(i));
+            cost += edges.getWeight(i);
+        }
+        assertEquals(graph.getVertexCount() - components, edges.size(), "tree edge count");
+        assertEquals(cost, result.getTotalCost(), "total cost");
+    }
+
+    // Weights of the edges between each unordered vertex pair
+    private static Map<Long, Set<Integer>> edgeWeights(CompactGraph graph) {
+        Map<Long, Set<Integer>> weights = new HashMap<>();
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            weights.computeIfAbsent(pair(graph.getEdgeFrom()[e], graph.getEdgeTo()[e]), key -> new HashSet<>())
+                    .add(graph.getEdgeWeight()[e]);
+        }
+        return weights;
+    }
+
+    private static long pair(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
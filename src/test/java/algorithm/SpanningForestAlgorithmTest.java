@@ -0,0 +1,43 @@
+package algorithm;
+
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanningForestAlgorithmTest {
+    @Test
+    void mapsComponentTreesBackToTheWholeGraph() {
+        // Average degree 1 leaves many components, including lone vertices
+        CompactGraph graph = GraphGenerator.geometric(0, 5_000, 1, WeightDistribution.DISTANCE, 9);
+        MSTResult expected = new KruskalAlgorithm().findMST(graph);
+
+        for (MSTAlgorithm algorithm : new MSTAlgorithm[]{new KruskalAlgorithm(), new PrimAlgorithm()}) {
+            MSTResult forest = new SpanningForestAlgorithm(algorithm).findMST(graph);
+
+            assertEquals(expected.getTotalCost(), forest.getTotalCost());
+            MSTAssertions.assertSpanningForest(graph, forest);
+            assertTrue(forest.getComponents().size() > 1);
+            long componentCost = 0;
+            for (MSTResult component : forest.getComponents()) {
+                componentCost += component.getTotalCost();
+            }
+            assertEquals(forest.getTotalCost(), componentCost);
+        }
+    }
+
+    @Test
+    void givesEachIsolatedVertexItsOwnEmptyTree() {
+        String[] names = {"A", "B", "C", "D"};
+        CompactGraph graph = new CompactGraph(1, names, new int[]{0}, new int[]{1}, new int[]{3}, 1);
+
+        MSTResult forest = new SpanningForestAlgorithm(new KruskalAlgorithm()).findMST(graph);
+
+        assertEquals(3, forest.getComponents().size());
+        assertNotSame(forest.getComponents().get(1).getTree(), forest.getComponents().get(2).getTree());
+        assertEquals(0, forest.getComponents().get(1).getEdgeCount());
+        MSTAssertions.assertSpanningForest(graph, forest);
+    }
+}
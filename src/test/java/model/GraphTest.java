@@ -0,0 +1,41 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphTest {
+    private static Graph withUnknownEndpoint() {
+        return new Graph(1, List.of("A", "B"), List.of(new Edge("A", "B", 2), new Edge("A", "Z", 1)));
+    }
+
+    @Test
+    void adjacencyListRejectsUnknownEndpoints() {
+        Graph graph = withUnknownEndpoint();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, graph::getAdjacencyList);
+        assertTrue(error.getMessage().contains("graph 1"), error.getMessage());
+        assertTrue(error.getMessage().contains("unknown vertex Z"), error.getMessage());
+        // Not left half built for the next caller
+        assertThrows(IllegalArgumentException.class, graph::getAdjacencyList);
+    }
+
+    @Test
+    void compactFormRejectsUnknownEndpoints() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                withUnknownEndpoint()::toCompact);
+        assertTrue(error.getMessage().contains("graph 1"), error.getMessage());
+        assertTrue(error.getMessage().contains("unknown vertex Z"), error.getMessage());
+    }
+
+    @Test
+    void adjacencyListHoldsBothDirections() {
+        Graph graph = new Graph(1, List.of("A", "B", "C"), List.of(new Edge("A", "B", 2), new Edge("B", "C", 3)));
+
+        Map<String, List<Edge>> adjacency = graph.getAdjacencyList();
+        assertEquals(1, adjacency.get("A").size());
+        assertEquals(2, adjacency.get("B").size());
+        assertEquals("A", adjacency.get("B").get(0).getTo());
+    }
+}
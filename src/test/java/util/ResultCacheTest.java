@@ -0,0 +1,173 @@
+package util;
+
+import algorithm.AdaptiveSolver;
+import algorithm.CachingAlgorithm;
+import algorithm.KruskalAlgorithm;
+import algorithm.SpanningForestAlgorithm;
+import analysis.DetailedMetrics;
+import analysis.Metrics;
+import generator.GraphGenerator;
+import generator.WeightDistribution;
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.*;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void returnsStoredResultsForTheSameGraphOnly() {
+        ResultCache cache = new ResultCache();
+        CompactGraph graph = GraphGenerator.erdosRenyi(1, 100, 300, WeightDistribution.UNIFORM, 1);
+        MSTResult result = new KruskalAlgorithm().findMST(graph);
+
+        assertNull(cache.get("kruskal", graph));
+        cache.put("kruskal", graph, result);
+
+        assertSame(result, cache.get("kruskal", graph));
+        // Same edges under another id still hit; another algorithm or weight does not
+        assertSame(result, cache.get("kruskal", GraphGenerator.erdosRenyi(2, 100, 300, WeightDistribution.UNIFORM, 1)));
+        assertNull(cache.get("prim", graph));
+        CompactGraph reweighted = GraphGenerator.erdosRenyi(1, 100, 300, WeightDistribution.UNIFORM, 1);
+        reweighted.getEdgeWeight()[0]++;
+        assertNull(cache.get("kruskal", reweighted));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedResultsByEdgeCount() {
+        // Each 10-vertex tree weighs 9 edges + 1
+        ResultCache cache = new ResultCache(25, null);
+        CompactGraph a = path(1, 10);
+        CompactGraph b = path(2, 10);
+        CompactGraph c = path(3, 10);
+        KruskalAlgorithm kruskal = new KruskalAlgorithm();
+
+        cache.put("k", a, kruskal.findMST(a));
+        cache.put("k", b, kruskal.findMST(b));
+        assertEquals(20, cache.getStoredEdges());
+        assertNotNull(cache.get("k", a)); // b is now the eldest
+        cache.put("k", c, kruskal.findMST(c));
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.getSize());
+        assertEquals(20, cache.getStoredEdges());
+        assertNotNull(cache.get("k", a));
+        assertNull(cache.get("k", b));
+        assertNotNull(cache.get("k", c));
+    }
+
+    @Test
+    void skipsResultsLargerThanTheWholeCache() {
+        ResultCache cache = new ResultCache(5, null);
+        CompactGraph graph = path(1, 10);
+        cache.put("k", graph, new KruskalAlgorithm().findMST(graph));
+
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get("k", graph));
+    }
+
+    @Test
+    void roundTripsForestsMetricsAndEnginesThroughDisk() {
+        // Sparse enough to fall apart into many components
+        CompactGraph graph = GraphGenerator.geometric(1, 2_000, 2, WeightDistribution.DISTANCE, 4);
+        MSTResult original = new SpanningForestAlgorithm(new AdaptiveSolver()).findMST(graph, new DetailedMetrics());
+        new ResultCache(ResultCache.DEFAULT_MAX_EDGES, dir).put("auto-forest", graph, original);
+
+        ResultCache restarted = new ResultCache(ResultCache.DEFAULT_MAX_EDGES, dir);
+        MSTResult restored = restarted.get("auto-forest", graph);
+
+        assertNotNull(restored);
+        assertEquals(1, restarted.getDiskHits());
+        assertSameResult(original, restored);
+        DetailedMetrics metrics = (DetailedMetrics) original.getMetrics();
+        DetailedMetrics restoredMetrics = (DetailedMetrics) restored.getMetrics();
+        assertEquals(metrics.getCounters(), restoredMetrics.getCounters());
+        assertEquals(metrics.getPhaseTimesMs(), restoredMetrics.getPhaseTimesMs());
+        assertEquals(original.getComponents().size(), restored.getComponents().size());
+        for (int i = 0; i < original.getComponents().size(); i++) {
+            assertSameResult(original.getComponents().get(i), restored.getComponents().get(i));
+        }
+        // Now in memory as well
+        assertSame(restored, restarted.get("auto-forest", graph));
+    }
+
+    @Test
+    void treatsCorruptEntriesAsMisses() throws IOException {
+        CompactGraph graph = GraphGenerator.erdosRenyi(1, 200, 800, WeightDistribution.UNIFORM, 2);
+        ResultCache cache = new ResultCache(ResultCache.DEFAULT_MAX_EDGES, dir);
+        Path entry = dir.resolve("kruskal-" + cache.fingerprint(graph) + ".mst");
+        Files.createDirectories(dir);
+
+        for (int badCount : new int[]{-1, Integer.MAX_VALUE}) {
+            // Valid header and fields, then an impossible count of vertex names
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(0x4D535452);
+                out.writeInt(2);
+                out.writeUTF("");
+                out.writeLong(0);
+                out.writeDouble(0);
+                out.writeInt(badCount);
+            }
+            Files.write(entry, bytes.toByteArray());
+            assertNull(new ResultCache(ResultCache.DEFAULT_MAX_EDGES, dir).get("kruskal", graph));
+        }
+
+        Files.write(entry, new byte[]{1, 2, 3});
+        MSTResult solved = new CachingAlgorithm("kruskal", new KruskalAlgorithm(), cache).findMST(graph);
+
+        assertEquals(new KruskalAlgorithm().findMST(graph).getTotalCost(), solved.getTotalCost());
+        assertFalse(solved.isCached());
+        assertEquals(1, cache.getDiskErrors());
+        assertEquals(1, cache.getMisses());
+        // The solve replaced the broken entry
+        assertNotNull(new ResultCache(ResultCache.DEFAULT_MAX_EDGES, dir).get("kruskal", graph));
+    }
+
+    @Test
+    void marksHitsAsCached() {
+        ResultCache cache = new ResultCache();
+        CachingAlgorithm caching = new CachingAlgorithm("kruskal", new KruskalAlgorithm(), cache);
+        CompactGraph graph = path(1, 10);
+
+        assertFalse(caching.findMST(graph, Metrics.NONE).isCached());
+        MSTResult hit = caching.findMST(graph, Metrics.NONE);
+        assertTrue(hit.isCached());
+        assertEquals(9, hit.getTotalCost());
+    }
+
+    private static void assertSameResult(MSTResult expected, MSTResult actual) {
+        assertEquals(expected.getTotalCost(), actual.getTotalCost());
+        assertEquals(expected.getEngine(), actual.getEngine());
+        assertEquals(expected.getExecutionTimeMs(), actual.getExecutionTimeMs());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int i = 0; i < expected.getEdgeCount(); i++) {
+            assertEquals(expected.getTree().toEdge(i).toString(), actual.getTree().toEdge(i).toString());
+        }
+    }
+
+    // A path of unit-weight edges
+    private static CompactGraph path(int id, int vertices) {
+        String[] names = new String[vertices];
+        int[] from = new int[vertices - 1];
+        int[] to = new int[vertices - 1];
+        int[] weight = new int[vertices - 1];
+        for (int v = 0; v < vertices; v++) {
+            names[v] = "V" + id + "_" + v;
+        }
+        for (int e = 0; e < vertices - 1; e++) {
+            from[e] = e;
+            to[e] = e + 1;
+            weight[e] = 1;
+        }
+        return new CompactGraph(id, names, from, to, weight, vertices - 1);
+    }
+}
@@ -0,0 +1,42 @@
+package util;
+
+import analysis.Metrics;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import model.*;
+import org.junit.jupiter.api.Test;
+import java.io.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStreamWriterTest {
+    @Test
+    void finishCompletesTheDocument() throws IOException {
+        StringWriter output = new StringWriter();
+        try (ResultStreamWriter writer = new ResultStreamWriter(output, true)) {
+            writer.writeResult(1, 2, 1, Collections.singletonMap("kruskal", singleEdge()));
+            writer.finish();
+        }
+
+        JsonObject document = JsonParser.parseString(output.toString()).getAsJsonObject();
+        assertEquals(1, document.getAsJsonArray("results").size());
+    }
+
+    @Test
+    void closingWithoutFinishLeavesTheDocumentUnterminated() throws IOException {
+        StringWriter output = new StringWriter();
+        try (ResultStreamWriter writer = new ResultStreamWriter(output, true)) {
+            writer.writeResult(1, 2, 1, Collections.singletonMap("kruskal", singleEdge()));
+        }
+
+        assertTrue(output.toString().startsWith("{\"results\":[{\"graph_id\":1"));
+        assertFalse(output.toString().endsWith("]}"));
+    }
+
+    private static MSTResult singleEdge() {
+        TreeEdges tree = new TreeEdges(new String[]{"A", "B"}, 1);
+        tree.add(0, 1, 5);
+        return new MSTResult(tree, 5, Metrics.NONE, 0.1);
+    }
+}